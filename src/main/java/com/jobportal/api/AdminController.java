@@ -1,5 +1,6 @@
 package com.jobportal.api;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -20,8 +22,12 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.jobportal.dto.JobDTO;
 import com.jobportal.dto.UserDTO;
+import com.jobportal.entity.EmbeddingBackfillState;
 import com.jobportal.repository.UserRepository;
 import com.jobportal.service.AdminService;
+import com.jobportal.service.EmbeddingBackfillService;
+import com.jobportal.service.EmbeddingProjectionService;
+import com.jobportal.service.JobEmbeddingIndex;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -35,16 +41,59 @@ public class AdminController {
 	@Autowired
 	private UserRepository userRepository;
 	
+	@Autowired
+	private EmbeddingBackfillService embeddingBackfillService;
+	
+	@Autowired
+	private EmbeddingProjectionService embeddingProjectionService;
+	
+	@Autowired
+	private JobEmbeddingIndex jobEmbeddingIndex;
+	
 	@GetMapping("/stats")
 	public ResponseEntity<Map<String, Object>> getPlatformStatistics() {
 		Map<String, Object> stats = adminService.getPlatformStatistics();
 		return ResponseEntity.ok(stats);
 	}
 	
+	@GetMapping("/metrics")
+	public ResponseEntity<Map<String, Object>> getPerformanceMetrics() {
+		Map<String, Object> metrics = adminService.getPerformanceMetrics();
+		return ResponseEntity.ok(metrics);
+	}
+	
+	@GetMapping("/embeddings/backfill")
+	public ResponseEntity<List<EmbeddingBackfillState>> getEmbeddingBackfillStatus() {
+		return ResponseEntity.ok(embeddingBackfillService.getStatus());
+	}
+	
+	@PostMapping("/embeddings/backfill")
+	public ResponseEntity<List<EmbeddingBackfillState>> startEmbeddingBackfill() {
+		return ResponseEntity.accepted().body(embeddingBackfillService.start());
+	}
+	
+	@PostMapping("/embeddings/backfill/stop")
+	public ResponseEntity<Void> stopEmbeddingBackfill() {
+		embeddingBackfillService.stop();
+		return ResponseEntity.accepted().build();
+	}
+	
+	@PostMapping("/embeddings/projection")
+	public ResponseEntity<Map<String, Object>> refitEmbeddingProjection() {
+		jobEmbeddingIndex.refitProjection();
+		return ResponseEntity.ok(embeddingProjectionService.getStats());
+	}
+	
 	@GetMapping("/users")
-	public ResponseEntity<Page<UserDTO>> getAllUsers(
+	public ResponseEntity<?> getAllUsers(
 			@RequestParam(defaultValue = "0") int page,
-			@RequestParam(defaultValue = "10") int size) {
+			@RequestParam(defaultValue = "10") int size,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "false") boolean includeTotal) {
+		// Sending a cursor, empty for the first page, switches to keyset paging
+		if (cursor != null) {
+			return ResponseEntity.ok(adminService.getAllUsers(cursor, size, includeTotal));
+		}
 		Pageable pageable = PageRequest.of(page, size);
 		Page<UserDTO> users = adminService.getAllUsers(pageable);
 		return ResponseEntity.ok(users);
@@ -65,9 +114,14 @@ public class AdminController {
 	}
 	
 	@GetMapping("/jobs")
-	public ResponseEntity<Page<JobDTO>> getAllJobs(
+	public ResponseEntity<?> getAllJobs(
 			@RequestParam(defaultValue = "0") int page,
-			@RequestParam(defaultValue = "10") int size) {
+			@RequestParam(defaultValue = "10") int size,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "false") boolean includeTotal) {
+		if (cursor != null) {
+			return ResponseEntity.ok(adminService.getAllJobs(cursor, size, includeTotal));
+		}
 		Pageable pageable = PageRequest.of(page, size);
 		Page<JobDTO> jobs = adminService.getAllJobs(pageable);
 		return ResponseEntity.ok(jobs);
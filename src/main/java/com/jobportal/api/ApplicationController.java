@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -93,21 +94,30 @@ public class ApplicationController {
 	}
 	
 	@GetMapping
-	public ResponseEntity<Page<ApplicationDTO>> getMyApplications(
+	public ResponseEntity<?> getMyApplications(
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "10") int size,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "false") boolean includeTotal,
 			Authentication authentication) {
 		User applicant = getCurrentUser(authentication);
+		// Sending a cursor, empty for the first page, switches to keyset paging, newest first
+		if (cursor != null) {
+			return ResponseEntity.ok(applicationService.getApplicationsByApplicant(applicant, cursor, size, includeTotal));
+		}
 		Pageable pageable = PageRequest.of(page, size);
 		Page<ApplicationDTO> applications = applicationService.getApplicationsByApplicant(applicant, pageable);
 		return ResponseEntity.ok(applications);
 	}
 	
 	@GetMapping("/job/{jobId}")
-	public ResponseEntity<Page<ApplicationDTO>> getJobApplications(
+	public ResponseEntity<?> getJobApplications(
 			@PathVariable String jobId,
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "10") int size,
+			@RequestParam(defaultValue = "matchScore") String sortBy,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "false") boolean includeTotal,
 			Authentication authentication) {
 		User recruiter = getCurrentUser(authentication);
 		Job job = jobRepository.findById(jobId)
@@ -118,7 +128,16 @@ public class ApplicationController {
 			throw new RuntimeException("You don't have permission to view these applications");
 		}
 		
-		Pageable pageable = PageRequest.of(page, size);
+		// Cursors follow the application date, so sortBy does not apply to them
+		if (cursor != null) {
+			return ResponseEntity.ok(applicationService.getApplicationsByJob(job, cursor, size, includeTotal));
+		}
+		
+		// Best fit first by default; unscored applications sort last
+		Sort sort = "appliedAt".equals(sortBy)
+				? Sort.by(Sort.Direction.DESC, "appliedAt")
+				: Sort.by(Sort.Direction.DESC, "matchScore");
+		Pageable pageable = PageRequest.of(page, size, sort);
 		Page<ApplicationDTO> applications = applicationService.getApplicationsByJob(job, pageable);
 		return ResponseEntity.ok(applications);
 	}
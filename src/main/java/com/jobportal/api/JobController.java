@@ -1,6 +1,7 @@
 package com.jobportal.api;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -23,8 +24,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.jobportal.dto.JobDTO;
+import com.jobportal.dto.SearchPage;
 import com.jobportal.entity.User;
 import com.jobportal.repository.UserRepository;
+import com.jobportal.service.JobFacetService;
 import com.jobportal.service.JobService;
 
 import jakarta.validation.Valid;
@@ -71,12 +74,18 @@ public class JobController {
 	}
 	
 	@GetMapping
-	public ResponseEntity<Page<JobDTO>> getAllJobs(
+	public ResponseEntity<?> getAllJobs(
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "10") int size,
 			@RequestParam(required = false) String location,
 			@RequestParam(required = false) String jobType,
-			@RequestParam(required = false) String category) {
+			@RequestParam(required = false) String category,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "false") boolean includeTotal) {
+		// Sending a cursor, empty for the first page, switches to keyset paging
+		if (cursor != null) {
+			return ResponseEntity.ok(jobService.getAllJobs(location, jobType, category, cursor, size, includeTotal));
+		}
 		Pageable pageable = PageRequest.of(page, size);
 		Page<JobDTO> jobs;
 		
@@ -93,11 +102,16 @@ public class JobController {
 	}
 	
 	@GetMapping("/my-jobs")
-	public ResponseEntity<Page<JobDTO>> getMyJobs(
+	public ResponseEntity<?> getMyJobs(
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "10") int size,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "false") boolean includeTotal,
 			Authentication authentication) {
 		User recruiter = getCurrentUser(authentication);
+		if (cursor != null) {
+			return ResponseEntity.ok(jobService.getJobsByRecruiter(recruiter, cursor, size, includeTotal));
+		}
 		Pageable pageable = PageRequest.of(page, size);
 		Page<JobDTO> jobs = jobService.getJobsByRecruiter(recruiter, pageable);
 		return ResponseEntity.ok(jobs);
@@ -109,13 +123,22 @@ public class JobController {
 		return ResponseEntity.ok(jobs);
 	}
 	
+	@GetMapping("/facets")
+	public ResponseEntity<Map<String, List<JobFacetService.FacetValue>>> getFacets(
+			@RequestParam(required = false) String location,
+			@RequestParam(required = false) String jobType,
+			@RequestParam(required = false) String category) {
+		return ResponseEntity.ok(jobService.getFacets(location, jobType, category));
+	}
+	
 	@GetMapping("/search")
-	public ResponseEntity<Page<JobDTO>> searchJobs(
+	public ResponseEntity<SearchPage<JobDTO>> searchJobs(
 			@RequestParam String q,
+			@RequestParam(required = false) String mode,
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "10") int size) {
 		Pageable pageable = PageRequest.of(page, size);
-		Page<JobDTO> jobs = jobService.searchJobs(q, pageable);
+		SearchPage<JobDTO> jobs = jobService.searchJobs(q, mode, pageable);
 		return ResponseEntity.ok(jobs);
 	}
 	
@@ -34,11 +34,17 @@ public class NotificationController {
 	private UserRepository userRepository;
 	
 	@GetMapping
-	public ResponseEntity<Page<Notification>> getNotifications(
+	public ResponseEntity<?> getNotifications(
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "10") int size,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "false") boolean includeTotal,
 			Authentication authentication) {
 		User user = getCurrentUser(authentication);
+		// Sending a cursor, empty for the first page, switches to keyset paging
+		if (cursor != null) {
+			return ResponseEntity.ok(notificationService.getNotificationsByUser(user, cursor, size, includeTotal));
+		}
 		Pageable pageable = PageRequest.of(page, size);
 		Page<Notification> notifications = notificationService.getNotificationsByUser(user, pageable);
 		return ResponseEntity.ok(notifications);
@@ -0,0 +1,78 @@
+package com.jobportal.config;
+
+import com.jobportal.util.HashingEmbedder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline {@link EmbeddingClient} for the {@code local-embedding} profile.
+ * Replaces Ollama with a {@link HashingEmbedder}, so load tests and benchmarks
+ * of the matching and resume pipelines are reproducible without a model
+ * server. {@code app.embedding.local.latency-ms} adds a fixed delay per call
+ * to stand in for model latency.
+ */
+@Slf4j
+@Primary
+@Component
+@Profile("local-embedding")
+public class HashingEmbeddingClient implements EmbeddingClient {
+
+    private final HashingEmbedder embedder;
+    private final long latencyMs;
+
+    public HashingEmbeddingClient(@Value("${app.embedding.local.dimensions:768}") int dimensions,
+                                  @Value("${app.embedding.local.ngram:3}") int ngram,
+                                  @Value("${app.embedding.local.latency-ms:0}") long latencyMs) {
+        this.embedder = new HashingEmbedder(dimensions, ngram);
+        this.latencyMs = latencyMs;
+        log.info("Using local hashing embeddings ({} dimensions, {}ms simulated latency)", dimensions, latencyMs);
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        simulateLatency();
+        List<Embedding> embeddings = new ArrayList<>(request.getInstructions().size());
+        for (String text : request.getInstructions()) {
+            embeddings.add(new Embedding(embedder.embed(text), embeddings.size()));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public List<Double> embed(String text) {
+        simulateLatency();
+        return embedder.embed(text);
+    }
+
+    @Override
+    public List<Double> embed(Document document) {
+        return embed(document.getContent());
+    }
+
+    @Override
+    public int dimensions() {
+        return embedder.dimension();
+    }
+
+    private void simulateLatency() {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
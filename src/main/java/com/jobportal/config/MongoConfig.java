@@ -0,0 +1,80 @@
+package com.jobportal.config;
+
+import com.jobportal.entity.EmbeddingVector;
+import com.jobportal.entity.Job;
+import org.bson.BsonBinarySubType;
+import org.bson.types.Binary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class MongoConfig {
+
+    @Value("${app.embedding.storage.encoding:float32}")
+    private String embeddingEncoding;
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        EmbeddingVector.Encoding encoding = EmbeddingVector.Encoding.valueOf(embeddingEncoding.toUpperCase());
+        return new MongoCustomConversions(List.of(
+                new EmbeddingVectorWriter(encoding),
+                new BinaryToEmbeddingVector(),
+                new ListToEmbeddingVector()));
+    }
+
+    // Every save goes through here, so the lowercased filter keys never drift from the fields
+    @Bean
+    public BeforeConvertCallback<Job> jobSearchKeysCallback() {
+        return (job, collection) -> {
+            job.refreshSearchKeys();
+            return job;
+        };
+    }
+
+    @WritingConverter
+    static class EmbeddingVectorWriter implements Converter<EmbeddingVector, Binary> {
+
+        private final EmbeddingVector.Encoding encoding;
+
+        EmbeddingVectorWriter(EmbeddingVector.Encoding encoding) {
+            this.encoding = encoding;
+        }
+
+        @Override
+        public Binary convert(EmbeddingVector source) {
+            return new Binary(BsonBinarySubType.USER_DEFINED, source.toBytes(encoding));
+        }
+    }
+
+    @ReadingConverter
+    static class BinaryToEmbeddingVector implements Converter<Binary, EmbeddingVector> {
+
+        @Override
+        public EmbeddingVector convert(Binary source) {
+            return EmbeddingVector.fromBytes(source.getData());
+        }
+    }
+
+    // Documents written before the binary encoding hold a plain array of doubles
+    @ReadingConverter
+    static class ListToEmbeddingVector implements Converter<List<?>, EmbeddingVector> {
+
+        @Override
+        public EmbeddingVector convert(List<?> source) {
+            List<Double> values = new ArrayList<>(source.size());
+            for (Object value : source) {
+                values.add(((Number) value).doubleValue());
+            }
+            return EmbeddingVector.of(values);
+        }
+    }
+}
@@ -74,6 +74,7 @@ public class SecurityConfig {
 				.requestMatchers(HttpMethod.PUT, "/api/jobs/**").hasRole("EMPLOYER")
 				.requestMatchers(HttpMethod.DELETE, "/api/jobs/**").hasRole("EMPLOYER")
 				.requestMatchers(HttpMethod.GET, "/api/company/**").permitAll()
+				.requestMatchers(HttpMethod.GET, "/api/suggest").permitAll()
 				.requestMatchers(HttpMethod.POST, "/api/company/**").hasRole("EMPLOYER")
 				.requestMatchers(HttpMethod.PUT, "/api/company/**").hasRole("EMPLOYER")
 				.requestMatchers(HttpMethod.DELETE, "/api/company/**").hasRole("EMPLOYER")
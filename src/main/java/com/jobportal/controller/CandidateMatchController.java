@@ -0,0 +1,38 @@
+package com.jobportal.controller;
+
+import com.jobportal.entity.User;
+import com.jobportal.repository.UserRepository;
+import com.jobportal.service.CandidateMatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/match-candidates")
+@RequiredArgsConstructor
+public class CandidateMatchController {
+
+    private final CandidateMatchService candidateMatchService;
+    private final UserRepository userRepository;
+
+    @GetMapping
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public ResponseEntity<List<Map<String, Object>>> matchCandidates(
+            @RequestParam String jobId,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) List<String> skills) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email).orElseThrow();
+
+        return ResponseEntity.ok(candidateMatchService.matchCandidates(jobId, user, limit, location, skills));
+    }
+}
@@ -2,6 +2,7 @@ package com.jobportal.controller;
 
 import com.jobportal.entity.User;
 import com.jobportal.repository.UserRepository;
+import com.jobportal.service.JobEmbeddingIndex;
 import com.jobportal.service.MatchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,11 +24,18 @@ public class MatchController {
     private final UserRepository userRepository;
 
     @PostMapping
-    public ResponseEntity<List<Map<String, Object>>> matchJobs(@RequestParam String resumeId) {
+    public ResponseEntity<List<Map<String, Object>>> matchJobs(
+            @RequestParam String resumeId,
+            @RequestParam(required = false) List<String> location,
+            @RequestParam(required = false) List<String> jobType,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> experienceLevel,
+            @RequestParam(required = false) Double minSalary) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email).orElseThrow();
         
-        List<Map<String, Object>> results = matchService.matchJobs(resumeId, user);
+        JobEmbeddingIndex.Filter filter = JobEmbeddingIndex.Filter.of(location, jobType, category, experienceLevel, minSalary);
+        List<Map<String, Object>> results = matchService.matchJobs(resumeId, user, filter);
         return ResponseEntity.ok(results);
     }
 }
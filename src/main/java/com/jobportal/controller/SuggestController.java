@@ -0,0 +1,27 @@
+package com.jobportal.controller;
+
+import com.jobportal.service.SuggestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    @GetMapping
+    public ResponseEntity<List<SuggestService.Suggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestService.suggest(q, type, limit));
+    }
+}
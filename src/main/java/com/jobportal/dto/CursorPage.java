@@ -0,0 +1,27 @@
+package com.jobportal.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One slice of a cursor-paged listing. {@code nextCursor} is null on the last
+ * slice; {@code totalElements} is only filled in when the client asked for it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+	private List<T> content;
+	private String nextCursor;
+	private boolean hasNext;
+	private Long totalElements;
+
+	public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+		List<R> mapped = content.stream().<R>map(mapper).toList();
+		return new CursorPage<>(mapped, nextCursor, hasNext, totalElements);
+	}
+}
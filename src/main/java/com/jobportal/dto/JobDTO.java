@@ -36,5 +36,6 @@ public class JobDTO {
 	private Boolean isFeatured;
 	private LocalDateTime createdAt;
 	private LocalDateTime updatedAt;
+	private String embeddingStatus; // Read-only: pending, ready, failed
 }
 
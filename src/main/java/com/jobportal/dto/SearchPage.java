@@ -0,0 +1,33 @@
+package com.jobportal.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * One page of job search results. Text matches are only counted up to
+ * {@code app.search.text.count-limit}; when counting stopped there
+ * {@code totalCapped} is set and {@code totalElements} is a lower bound
+ * rather than the number of matches.
+ */
+public class SearchPage<T> extends PageImpl<T> {
+	private static final long serialVersionUID = 1L;
+
+	private final boolean totalCapped;
+
+	public SearchPage(List<T> content, Pageable pageable, long total, boolean totalCapped) {
+		super(content, pageable, total);
+		this.totalCapped = totalCapped;
+	}
+
+	public boolean isTotalCapped() {
+		return totalCapped;
+	}
+
+	@Override
+	public <U> SearchPage<U> map(Function<? super T, ? extends U> converter) {
+		return new SearchPage<>(getConvertedContent(converter), getPageable(), getTotalElements(), totalCapped);
+	}
+}
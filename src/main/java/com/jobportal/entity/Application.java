@@ -7,6 +7,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -19,7 +20,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "applications")
-@CompoundIndex(name = "job_applicant_idx", def = "{'jobId': 1, 'applicantId': 1}", unique = true)
+@CompoundIndexes({
+	@CompoundIndex(name = "job_applicant_idx", def = "{'jobId': 1, 'applicantId': 1}", unique = true),
+	@CompoundIndex(name = "job_match_score_idx", def = "{'jobId': 1, 'matchScore': -1}"),
+	@CompoundIndex(name = "job_applied_idx", def = "{'jobId': 1, 'appliedAt': -1}"),
+	@CompoundIndex(name = "applicant_applied_idx", def = "{'applicantId': 1, 'appliedAt': -1}")
+})
 public class Application {
 	@Id
 	private String id;
@@ -58,9 +64,9 @@ public class Application {
 	
 	private LocalDateTime interviewDate; // If shortlisted
 	
-	// AI-based matching features
-	private Double matchScore; // 0-100
+	// AI-based matching features, computed server-side by ApplicationMatchService
+	private Double matchScore; // 0-100, null until the job's embedding is ready
 	
-	private List<String> skillsMatch; // Matched skills from resume
+	private List<String> skillsMatch; // Job skills found on the resume or profile
 }
 
@@ -0,0 +1,40 @@
+package com.jobportal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of the embedding backfill for one collection, so an interrupted
+ * run resumes after the last document it wrote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "embedding_backfill_state")
+public class EmbeddingBackfillState {
+    @Id
+    private String id; // Collection name: jobs, resumes
+
+    private String model; // Target embedding model of the run
+
+    private String lastId; // Last document id processed, in _id order
+
+    private String status; // running, stopped, completed
+
+    private long processed;
+
+    private long embedded;
+
+    private long failed;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+}
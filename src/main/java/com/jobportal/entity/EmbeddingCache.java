@@ -21,7 +21,9 @@ public class EmbeddingCache {
     private String id;
 
     @Indexed(unique = true)
-    private String contentHash; // Hash of the text content
+    private String contentHash; // SHA-256 of model name + normalized text
+
+    private String model;
 
     private List<Double> vector;
     
@@ -0,0 +1,41 @@
+package com.jobportal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted projection matrix used by the two-stage match index to reduce
+ * embeddings before the first pass. Versions only grow; the latest one for an
+ * input dimension is current.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "embedding_projections")
+public class EmbeddingProjection {
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private long version;
+
+    private String method; // pca, random
+
+    private int inputDimension;
+
+    private int outputDimension;
+
+    private int sampleSize; // Job embeddings the matrix was fitted on
+
+    private byte[] matrix; // Little-endian float32, outputDimension rows of inputDimension
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,45 @@
+package com.jobportal.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending embedding work for one job. Re-enqueueing an already queued job
+ * bumps {@code generation} instead of adding a second task, so a worker that
+ * finishes an outdated run leaves the task for the next one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "embedding_tasks")
+@CompoundIndex(name = "status_next_attempt_idx", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class EmbeddingTask {
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String jobId;
+
+    private String status; // pending, processing, failed
+
+    private long generation; // Incremented on every enqueue
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime leaseExpiresAt; // Processing tasks past their lease are reclaimed
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,139 @@
+package com.jobportal.entity;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Embedding stored on {@link Job} and {@link Resume} documents.
+ *
+ * Persisted as BSON binary (see {@code MongoConfig}) rather than an array of
+ * doubles: a one-byte encoding tag followed by either packed little-endian
+ * float32 values, or a float32 scale and one signed byte per dimension when
+ * int8 quantization is enabled. Legacy documents holding a plain array are
+ * still readable and are rewritten on their next save or by the storage
+ * migration in {@code EmbeddingBackfillService}.
+ */
+public final class EmbeddingVector {
+
+	public enum Encoding {
+		FLOAT32((byte) 1),
+		INT8((byte) 2);
+
+		private final byte tag;
+
+		Encoding(byte tag) {
+			this.tag = tag;
+		}
+	}
+
+	private final float[] values;
+
+	private EmbeddingVector(float[] values) {
+		this.values = values;
+	}
+
+	/**
+	 * Returns null for a null or empty embedding, so callers can pass model
+	 * output straight through.
+	 */
+	public static EmbeddingVector of(List<Double> values) {
+		if (values == null || values.isEmpty()) {
+			return null;
+		}
+		float[] floats = new float[values.size()];
+		for (int i = 0; i < floats.length; i++) {
+			floats[i] = values.get(i).floatValue();
+		}
+		return new EmbeddingVector(floats);
+	}
+
+	public static EmbeddingVector of(float[] values) {
+		if (values == null || values.length == 0) {
+			return null;
+		}
+		return new EmbeddingVector(values.clone());
+	}
+
+	/**
+	 * The raw values. The returned array is shared, callers must not modify it.
+	 */
+	public float[] values() {
+		return values;
+	}
+
+	public int dimension() {
+		return values.length;
+	}
+
+	public List<Double> toList() {
+		List<Double> list = new ArrayList<>(values.length);
+		for (float value : values) {
+			list.add((double) value);
+		}
+		return list;
+	}
+
+	public byte[] toBytes(Encoding encoding) {
+		if (encoding == Encoding.INT8) {
+			float maxAbs = 0f;
+			for (float value : values) {
+				maxAbs = Math.max(maxAbs, Math.abs(value));
+			}
+			float scale = maxAbs == 0f ? 1f : maxAbs / 127f;
+			ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + values.length).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.put(encoding.tag).putFloat(scale);
+			for (float value : values) {
+				buffer.put((byte) Math.round(value / scale));
+			}
+			return buffer.array();
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(1 + 4 * values.length).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put(encoding.tag);
+		for (float value : values) {
+			buffer.putFloat(value);
+		}
+		return buffer.array();
+	}
+
+	public static EmbeddingVector fromBytes(byte[] bytes) {
+		if (bytes == null || bytes.length < 2) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+		byte tag = buffer.get();
+		float[] values;
+		if (tag == Encoding.FLOAT32.tag) {
+			values = new float[buffer.remaining() / 4];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = buffer.getFloat();
+			}
+		} else if (tag == Encoding.INT8.tag) {
+			float scale = buffer.getFloat();
+			values = new float[buffer.remaining()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = buffer.get() * scale;
+			}
+		} else {
+			throw new IllegalArgumentException("Unknown embedding encoding " + tag);
+		}
+		return values.length == 0 ? null : new EmbeddingVector(values);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof EmbeddingVector vector && Arrays.equals(values, vector.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(values);
+	}
+
+	@Override
+	public String toString() {
+		return "EmbeddingVector[dimension=" + values.length + "]";
+	}
+}
@@ -2,10 +2,15 @@ package com.jobportal.entity;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -19,6 +24,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "jobs")
+@CompoundIndexes({
+	@CompoundIndex(name = "status_created_idx", def = "{'status': 1, 'createdAt': -1}"),
+	@CompoundIndex(name = "status_job_type_created_idx", def = "{'status': 1, 'jobTypeKey': 1, 'createdAt': -1}"),
+	@CompoundIndex(name = "posted_by_created_idx", def = "{'postedBy': 1, 'createdAt': -1}")
+})
 public class Job {
 	@Id
 	private String id;
@@ -73,12 +83,41 @@ public class Job {
 	
 	private Boolean isFeatured = false;
 	
+	@Indexed
 	@CreatedDate
 	private LocalDateTime createdAt;
 	
+	@Indexed
 	@LastModifiedDate
 	private LocalDateTime updatedAt;
 
-	private List<Double> embedding;
+	@JsonIgnore
+	private EmbeddingVector embedding; // Stored as packed binary, see MongoConfig
+
+	private String embeddingModel; // Model that produced the embedding
+
+	private String embeddingFingerprint; // Hash of model + embedded text (title, description, skills)
+
+	private String embeddingStatus; // pending, ready, failed
+
+	// Lowercased copies of the filterable fields, kept in sync on save by MongoConfig
+	@JsonIgnore
+	private String locationKey;
+
+	@JsonIgnore
+	private String jobTypeKey;
+
+	@JsonIgnore
+	private String categoryKey;
+
+	public void refreshSearchKeys() {
+		locationKey = searchKey(location);
+		jobTypeKey = searchKey(jobType);
+		categoryKey = searchKey(category);
+	}
+
+	public static String searchKey(String value) {
+		return value != null && !value.isBlank() ? value.trim().toLowerCase(Locale.ROOT) : null;
+	}
 }
 
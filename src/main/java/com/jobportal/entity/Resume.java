@@ -3,6 +3,8 @@ package com.jobportal.entity;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -41,7 +43,11 @@ public class Resume {
 	
 	// AI-extracted data (optional)
 	private String text;
-	private List<Double> embedding;
+	@JsonIgnore
+	private EmbeddingVector embedding; // Stored as packed binary, see MongoConfig; pooled over chunks for long resumes
+	@JsonIgnore
+	private List<EmbeddingVector> chunkEmbeddings; // Per-chunk vectors, empty when the text fits in one chunk
+	private String embeddingModel;
 	private ParsedData parsedData;
 	
 	@Data
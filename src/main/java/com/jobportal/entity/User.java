@@ -64,6 +64,7 @@ public class User {
 	
 	private LocalDateTime lastLoginAt;
 	
+	@Indexed
 	@CreatedDate
 	private LocalDateTime createdAt;
 	
@@ -6,7 +6,6 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 
 import com.jobportal.entity.Application;
 import com.jobportal.entity.Job;
@@ -48,8 +47,10 @@ public interface ApplicationRepository extends MongoRepository<Application, Stri
 	// Find applications ordered by applied date
 	List<Application> findByApplicantIdOrderByAppliedAtDesc(User applicantId);
 	
-	// Find applications ordered by match score
-	@Query("{ jobId: ?0 }")
+	// Find applications ordered by match score, served by the jobId + matchScore index
 	List<Application> findByJobIdOrderByMatchScoreDesc(Job jobId);
+	
+	// Applications still waiting for their job's embedding to be scored
+	List<Application> findByJobIdAndMatchScoreIsNull(Job jobId);
 }
 
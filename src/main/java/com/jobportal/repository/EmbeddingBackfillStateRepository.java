@@ -0,0 +1,9 @@
+package com.jobportal.repository;
+
+import com.jobportal.entity.EmbeddingBackfillState;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmbeddingBackfillStateRepository extends MongoRepository<EmbeddingBackfillState, String> {
+}
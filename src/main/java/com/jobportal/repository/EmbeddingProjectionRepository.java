@@ -0,0 +1,15 @@
+package com.jobportal.repository;
+
+import com.jobportal.entity.EmbeddingProjection;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EmbeddingProjectionRepository extends MongoRepository<EmbeddingProjection, String> {
+
+    Optional<EmbeddingProjection> findFirstByInputDimensionOrderByVersionDesc(int inputDimension);
+
+    Optional<EmbeddingProjection> findFirstByOrderByVersionDesc();
+}
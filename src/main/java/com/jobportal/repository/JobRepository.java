@@ -1,50 +1,81 @@
 package com.jobportal.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
 import com.jobportal.entity.Job;
 import com.jobportal.entity.User;
 
+// Listing queries leave out the embedding, which no listing uses. Jobs loaded
+// through them must not be saved back, that would drop the stored vector.
 public interface JobRepository extends MongoRepository<Job, String> {
 	
 	// Find jobs by recruiter
+	@Query(fields = "{ embedding: 0 }")
 	List<Job> findByPostedBy(User postedBy);
 	
+	@Query(fields = "{ embedding: 0 }")
 	Page<Job> findByPostedBy(User postedBy, Pageable pageable);
 	
 	// Find jobs by status
+	@Query(fields = "{ embedding: 0 }")
 	List<Job> findByStatus(String status);
 	
+	@Query(fields = "{ embedding: 0 }")
 	Page<Job> findByStatus(String status, Pageable pageable);
 	
 	// Find jobs by location
+	@Query(fields = "{ embedding: 0 }")
 	List<Job> findByLocation(String location);
 	
 	// Find jobs by job type
+	@Query(fields = "{ embedding: 0 }")
 	List<Job> findByJobType(String jobType);
 	
 	// Find jobs by category
+	@Query(fields = "{ embedding: 0 }")
 	List<Job> findByCategory(String category);
 	
 	// Find active jobs
+	@Query(fields = "{ embedding: 0 }")
 	List<Job> findByStatusOrderByCreatedAtDesc(String status);
 	
+	@Query(fields = "{ embedding: 0 }")
 	Page<Job> findByStatusOrderByCreatedAtDesc(String status, Pageable pageable);
 	
-	// Search jobs by text
-	@Query("{ $text: { $search: ?0 }, status: 'active' }")
-	List<Job> searchJobs(String searchText);
+	// All jobs, for admin listings
+	@Query(value = "{}", fields = "{ embedding: 0 }")
+	Page<Job> findAllListings(Pageable pageable);
 	
 	// Find jobs by multiple filters
-	@Query("{ status: ?0, location: ?1, jobType: ?2 }")
+	@Query(value = "{ status: ?0, location: ?1, jobType: ?2 }", fields = "{ embedding: 0 }")
 	List<Job> findByFilters(String status, String location, String jobType);
 	
+	// Lightweight lookup for match results, skips description and embedding
+	@Query(value = "{ _id: { $in: ?0 } }", fields = "{ title: 1, company: 1, location: 1, status: 1 }")
+	List<Job> findSummariesByIdIn(Collection<String> ids);
+	
+	@Query(value = "{ _id: { $in: ?0 } }", fields = "{ embedding: 0 }")
+	List<Job> findListingsByIdIn(Collection<String> ids);
+	
+	// Atomic, so concurrent applications and view flushes never overwrite each other
+	@Query("{ _id: ?0 }")
+	@Update("{ $inc: { applicationCount: 1 } }")
+	void incrementApplicationCount(String id);
+	
+	// Read-only job detail; never save a job loaded this way
+	@Query(value = "{ _id: ?0 }", fields = "{ embedding: 0 }")
+	Optional<Job> findListingById(String id);
+	
 	// Find featured jobs
+	@Query(fields = "{ embedding: 0 }")
 	List<Job> findByIsFeaturedTrueAndStatusOrderByCreatedAtDesc(String status);
 	
 	// Count jobs by recruiter
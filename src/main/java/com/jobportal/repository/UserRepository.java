@@ -1,20 +1,32 @@
 package com.jobportal.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import com.jobportal.dto.AccountType;
 import com.jobportal.entity.User;
 
 public interface UserRepository extends MongoRepository<User, String> {
 	Optional<User> findByEmail(String email);
-	
+
 	// Indexed queries for token lookups (replaces findAll().stream())
 	Optional<User> findByEmailVerificationToken(String token);
 	Optional<User> findByResetPasswordToken(String token);
 
 	List<User> findByAccountType(AccountType accountType);
 
-	@Query("{ accountType: 'APPLICANT', skills: { $in: ?0 }, isActive: true }")
-	List<User> searchCandidatesBySkills(List<String> skills);
+	// Candidate lookups return public profile fields only
+	@Query(value = "{ accountType: 'APPLICANT', skills: { $in: ?0 }, isActive: true }", fields = "{ name: 1, location: 1, skills: 1 }")
+	List<User> searchCandidatesBySkills(List<String> skills, Pageable pageable);
+
+	@Query(value = "{ accountType: 'APPLICANT', isActive: true }", fields = "{ name: 1, location: 1, skills: 1 }")
+	List<User> findActiveCandidates(Pageable pageable);
+
+	@Query(value = "{ _id: { $in: ?0 }, accountType: 'APPLICANT', isActive: true }", fields = "{ name: 1, location: 1, skills: 1 }")
+	List<User> findCandidateSummariesByIdIn(Collection<String> ids);
 }
@@ -5,6 +5,7 @@ import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.jobportal.dto.CursorPage;
 import com.jobportal.dto.JobDTO;
 import com.jobportal.dto.UserDTO;
 import com.jobportal.entity.Job;
@@ -12,10 +13,13 @@ import com.jobportal.entity.User;
 
 public interface AdminService {
 	Map<String, Object> getPlatformStatistics();
+	Map<String, Object> getPerformanceMetrics();
 	Page<UserDTO> getAllUsers(Pageable pageable);
+	CursorPage<UserDTO> getAllUsers(String cursor, int size, boolean includeTotal);
 	UserDTO updateUserStatus(String userId, Boolean isActive);
 	void deleteUser(String userId);
 	Page<JobDTO> getAllJobs(Pageable pageable);
+	CursorPage<JobDTO> getAllJobs(String cursor, int size, boolean includeTotal);
 	void deleteJob(String jobId);
 }
 
@@ -1,13 +1,16 @@
 package com.jobportal.service;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import com.jobportal.dto.CursorPage;
 import com.jobportal.dto.JobDTO;
 import com.jobportal.dto.UserDTO;
 import com.jobportal.entity.Job;
@@ -27,6 +30,45 @@ public class AdminServiceImpl implements AdminService {
 	
 	@Autowired
 	private ApplicationRepository applicationRepository;
+	
+	@Autowired
+	private JobEmbeddingIndex jobEmbeddingIndex;
+
+	@Autowired
+	private CandidateEmbeddingIndex candidateEmbeddingIndex;
+
+	@Autowired
+	private HybridSearchService hybridSearchService;
+
+	@Autowired
+	private JobTextIndex jobTextIndex;
+
+	@Autowired
+	private JobFacetService jobFacetService;
+
+	@Autowired
+	private CursorPager cursorPager;
+
+	@Autowired
+	private SuggestService suggestService;
+
+	@Autowired
+	private FuzzyQueryService fuzzyQueryService;
+
+	@Autowired
+	private JobViewCounter jobViewCounter;
+
+	@Autowired
+	private EmbeddingQueueService embeddingQueueService;
+
+	@Autowired
+	private MatchResultCache matchResultCache;
+
+	@Autowired
+	private EmbeddingProjectionService embeddingProjectionService;
+	
+	@Autowired
+	private EmbeddingCacheService embeddingCacheService;
 
 	@Override
 	public Map<String, Object> getPlatformStatistics() {
@@ -54,12 +96,39 @@ public class AdminServiceImpl implements AdminService {
 		return stats;
 	}
 
+	@Override
+	public Map<String, Object> getPerformanceMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("embeddingCache", embeddingCacheService.getStats());
+		metrics.put("jobEmbeddingIndexSize", jobEmbeddingIndex.size());
+		metrics.put("candidateEmbeddingIndexSize", candidateEmbeddingIndex.size());
+		metrics.put("hybridSearch", hybridSearchService.getStats());
+		metrics.put("jobTextIndex", jobTextIndex.getStats());
+		metrics.put("jobFacets", jobFacetService.getStats());
+		metrics.put("suggest", suggestService.getStats());
+		metrics.put("fuzzySearch", fuzzyQueryService.getStats());
+		metrics.put("jobViews", jobViewCounter.getStats());
+		metrics.put("embeddingQueue", embeddingQueueService.getStats());
+		metrics.put("matchResultCache", matchResultCache.getStats());
+		metrics.put("jobEmbeddingIndexVersion", jobEmbeddingIndex.getVersion());
+		metrics.put("jobEmbeddingIndex", jobEmbeddingIndex.getStats());
+		metrics.put("embeddingProjection", embeddingProjectionService.getStats());
+		return metrics;
+	}
+
 	@Override
 	public Page<UserDTO> getAllUsers(Pageable pageable) {
 		Page<User> users = userRepository.findAll(pageable);
 		return users.map(User::toDTO);
 	}
 
+	@Override
+	public CursorPage<UserDTO> getAllUsers(String cursor, int size, boolean includeTotal) {
+		CursorPage<User> users = cursorPager.page(new Query(), User.class, "createdAt", User::getCreatedAt, User::getId,
+				cursor, size, includeTotal);
+		return users.map(User::toDTO);
+	}
+
 	@Override
 	public UserDTO updateUserStatus(String userId, Boolean isActive) {
 		User user = userRepository.findById(userId)
@@ -76,20 +145,32 @@ public class AdminServiceImpl implements AdminService {
 				.orElseThrow(() -> new RuntimeException("User not found"));
 		
 		userRepository.delete(user);
+		candidateEmbeddingIndex.remove(userId);
 	}
 
 	@Override
 	public Page<JobDTO> getAllJobs(Pageable pageable) {
-		Page<Job> jobs = jobRepository.findAll(pageable);
-		return jobs.map(job -> {
-			JobDTO dto = new JobDTO();
-			dto.setId(job.getId());
-			dto.setTitle(job.getTitle());
-			dto.setCompany(job.getCompany());
-			dto.setStatus(job.getStatus());
-			dto.setCreatedAt(job.getCreatedAt());
-			return dto;
-		});
+		Page<Job> jobs = jobRepository.findAllListings(pageable);
+		return jobs.map(this::toListingDTO);
+	}
+
+	@Override
+	public CursorPage<JobDTO> getAllJobs(String cursor, int size, boolean includeTotal) {
+		Query query = new Query();
+		query.fields().exclude("embedding");
+		CursorPage<Job> jobs = cursorPager.page(query, Job.class, "createdAt", Job::getCreatedAt, Job::getId,
+				cursor, size, includeTotal);
+		return jobs.map(this::toListingDTO);
+	}
+
+	private JobDTO toListingDTO(Job job) {
+		JobDTO dto = new JobDTO();
+		dto.setId(job.getId());
+		dto.setTitle(job.getTitle());
+		dto.setCompany(job.getCompany());
+		dto.setStatus(job.getStatus());
+		dto.setCreatedAt(job.getCreatedAt());
+		return dto;
 	}
 
 	@Override
@@ -98,6 +179,9 @@ public class AdminServiceImpl implements AdminService {
 				.orElseThrow(() -> new RuntimeException("Job not found"));
 		
 		jobRepository.delete(job);
+		jobEmbeddingIndex.remove(jobId);
+		jobTextIndex.remove(jobId);
+		jobFacetService.invalidate();
 	}
 }
 
@@ -0,0 +1,117 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.Application;
+import com.jobportal.entity.Job;
+import com.jobportal.entity.Resume;
+import com.jobportal.entity.User;
+import com.jobportal.repository.ApplicationRepository;
+import com.jobportal.repository.ResumeRepository;
+import com.jobportal.util.CosineSimilarityUtil;
+import com.jobportal.util.VectorKernels;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Scores an application against its job on the server: embedding similarity
+ * between the applicant's default resume and the job (0-100), plus the job
+ * skills found on the resume or the applicant's profile.
+ *
+ * Skills are always filled in at apply time. A job whose embedding is still
+ * queued gets its applications scored by {@link EmbeddingQueueService} once
+ * the vector is written.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ApplicationMatchService {
+
+    private final ApplicationRepository applicationRepository;
+    private final ResumeRepository resumeRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public record MatchResult(Double matchScore, List<String> skillsMatch) {
+    }
+
+    public MatchResult score(Job job, User applicant) {
+        Resume resume = resumeRepository.findByUserIdAndIsDefaultTrue(applicant).orElse(null);
+        return new MatchResult(similarity(job, resume), matchedSkills(job, applicant, resume));
+    }
+
+    /**
+     * Fills in the score of every application to {@code job} that was made
+     * before the job's embedding was ready.
+     */
+    public void scorePendingApplications(Job job) {
+        if (job.getEmbedding() == null) {
+            return;
+        }
+        List<Application> pending = applicationRepository.findByJobIdAndMatchScoreIsNull(job);
+        for (Application application : pending) {
+            MatchResult result = score(job, application.getApplicantId());
+            if (result.matchScore() == null) {
+                continue;
+            }
+            // Targeted update so a concurrent status change by the recruiter is kept
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(application.getId())), new Update()
+                    .set("matchScore", result.matchScore())
+                    .set("skillsMatch", result.skillsMatch()), Application.class);
+        }
+        if (!pending.isEmpty()) {
+            log.info("Scored {} applications for job {} after its embedding became ready", pending.size(), job.getId());
+        }
+    }
+
+    private Double similarity(Job job, Resume resume) {
+        if (job.getEmbedding() == null || resume == null || resume.getEmbedding() == null) {
+            return null;
+        }
+        float[] jobVector = VectorKernels.normalize(job.getEmbedding().values());
+        float[] resumeVector = VectorKernels.normalize(resume.getEmbedding().values());
+        if (jobVector == null || resumeVector == null) {
+            return null;
+        }
+        double similarity = Math.max(0.0, CosineSimilarityUtil.calculate(jobVector, resumeVector));
+        return Math.round(similarity * 10000.0) / 100.0;
+    }
+
+    private List<String> matchedSkills(Job job, User applicant, Resume resume) {
+        if (job.getSkills() == null || job.getSkills().isEmpty()) {
+            return List.of();
+        }
+        Set<String> candidateSkills = new HashSet<>();
+        addSkills(candidateSkills, applicant.getSkills());
+        if (resume != null && resume.getParsedData() != null) {
+            addSkills(candidateSkills, resume.getParsedData().getSkills());
+        }
+
+        List<String> matched = new ArrayList<>();
+        for (String skill : job.getSkills()) {
+            if (skill != null && candidateSkills.contains(skill.trim().toLowerCase(Locale.ROOT))) {
+                matched.add(skill);
+            }
+        }
+        return matched;
+    }
+
+    private static void addSkills(Set<String> target, List<String> skills) {
+        if (skills == null) {
+            return;
+        }
+        for (String skill : skills) {
+            if (skill != null && !skill.isBlank()) {
+                target.add(skill.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.jobportal.dto.ApplicationDTO;
+import com.jobportal.dto.CursorPage;
 import com.jobportal.entity.Application;
 import com.jobportal.entity.Job;
 import com.jobportal.entity.User;
@@ -14,7 +15,9 @@ public interface ApplicationService {
 	ApplicationDTO applyToJob(String jobId, ApplicationDTO applicationDTO, User applicant);
 	ApplicationDTO getApplicationById(String applicationId);
 	Page<ApplicationDTO> getApplicationsByApplicant(User applicant, Pageable pageable);
+	CursorPage<ApplicationDTO> getApplicationsByApplicant(User applicant, String cursor, int size, boolean includeTotal);
 	Page<ApplicationDTO> getApplicationsByJob(Job job, Pageable pageable);
+	CursorPage<ApplicationDTO> getApplicationsByJob(Job job, String cursor, int size, boolean includeTotal);
 	ApplicationDTO updateApplicationStatus(String applicationId, String status, User recruiter, String notes, String rejectionReason);
 	void withdrawApplication(String applicationId, User applicant);
 	List<ApplicationDTO> getApplicationsByStatus(User applicant, String status);
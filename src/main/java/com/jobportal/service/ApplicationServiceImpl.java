@@ -9,9 +9,12 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import com.jobportal.dto.ApplicationDTO;
+import com.jobportal.dto.CursorPage;
 import com.jobportal.entity.Application;
 import com.jobportal.entity.Job;
 import com.jobportal.entity.User;
@@ -27,6 +30,12 @@ public class ApplicationServiceImpl implements ApplicationService {
 	@Autowired
 	private JobRepository jobRepository;
 
+	@Autowired
+	private ApplicationMatchService applicationMatchService;
+
+	@Autowired
+	private CursorPager cursorPager;
+
 	@Override
 	public ApplicationDTO applyToJob(String jobId, ApplicationDTO applicationDTO, User applicant) {
 		// Check if job exists
@@ -53,14 +62,16 @@ public class ApplicationServiceImpl implements ApplicationService {
 		application.setStatus("pending");
 		application.setAppliedAt(LocalDateTime.now());
 		application.setUpdatedAt(LocalDateTime.now());
-		application.setMatchScore(applicationDTO.getMatchScore());
-		application.setSkillsMatch(applicationDTO.getSkillsMatch());
+		
+		// Scored on the server; left null when the job is still being embedded
+		ApplicationMatchService.MatchResult match = applicationMatchService.score(job, applicant);
+		application.setMatchScore(match.matchScore());
+		application.setSkillsMatch(match.skillsMatch());
 		
 		application = applicationRepository.save(application);
 		
-		// Increment job application count
-		job.setApplicationCount(job.getApplicationCount() + 1);
-		jobRepository.save(job);
+		// Increment job application count in place; saving the loaded job would write back stale view counts
+		jobRepository.incrementApplicationCount(job.getId());
 		
 		return convertToDTO(application);
 	}
@@ -78,12 +89,29 @@ public class ApplicationServiceImpl implements ApplicationService {
 		return applications.map(this::convertToDTO);
 	}
 
+	@Override
+	public CursorPage<ApplicationDTO> getApplicationsByApplicant(User applicant, String cursor, int size, boolean includeTotal) {
+		return applicationsByCursor(Criteria.where("applicantId").is(applicant), cursor, size, includeTotal);
+	}
+
 	@Override
 	public Page<ApplicationDTO> getApplicationsByJob(Job job, Pageable pageable) {
 		Page<Application> applications = applicationRepository.findByJobId(job, pageable);
 		return applications.map(this::convertToDTO);
 	}
 
+	@Override
+	public CursorPage<ApplicationDTO> getApplicationsByJob(Job job, String cursor, int size, boolean includeTotal) {
+		return applicationsByCursor(Criteria.where("jobId").is(job), cursor, size, includeTotal);
+	}
+
+	// Newest applications first, served by the (owner, appliedAt) indexes
+	private CursorPage<ApplicationDTO> applicationsByCursor(Criteria owner, String cursor, int size, boolean includeTotal) {
+		CursorPage<Application> applications = cursorPager.page(new Query(owner), Application.class, "appliedAt",
+				Application::getAppliedAt, Application::getId, cursor, size, includeTotal);
+		return applications.map(this::convertToDTO);
+	}
+
 	@Override
 	public ApplicationDTO updateApplicationStatus(String applicationId, String status, User recruiter, String notes, String rejectionReason) {
 		Application application = applicationRepository.findById(applicationId)
@@ -0,0 +1,126 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.EmbeddingVector;
+import com.jobportal.entity.Resume;
+import com.jobportal.util.VectorIndex;
+import com.jobportal.util.VectorKernels;
+import com.mongodb.DBRef;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Resident index of applicants' default-resume embeddings, keyed by user id,
+ * used to rank candidates for a job.
+ *
+ * {@link ResumeServiceImpl} keeps it current on every default-resume change;
+ * resumes carry no modification timestamp to delta-sync on, so changes made on
+ * other nodes are picked up by a periodic rebuild that is swapped in whole.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CandidateEmbeddingIndex {
+
+    private final MongoTemplate mongoTemplate;
+    private final VectorIndexFactory vectorIndexFactory;
+
+    private volatile VectorIndex index;
+    private volatile Map<String, String> resumeIdsByCandidate = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.matching.candidates.rebuild-interval-ms:900000}",
+            initialDelayString = "${app.matching.candidates.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        // Raw documents, so the userId DBRef is read as an id instead of resolving every user
+        Query query = new Query(Criteria.where("isDefault").is(true).and("embedding").exists(true));
+        query.fields().include("userId", "embedding");
+        ConversionService conversions = mongoTemplate.getConverter().getConversionService();
+
+        VectorIndex fresh = vectorIndexFactory.create();
+        Map<String, String> resumeIds = new ConcurrentHashMap<>();
+        try (Stream<Document> resumes = mongoTemplate.stream(query, Document.class, "resumes")) {
+            resumes.forEach(document -> {
+                Object userRef = document.get("userId");
+                EmbeddingVector embedding = conversions.convert(document.get("embedding"), EmbeddingVector.class);
+                float[] vector = embedding != null ? VectorKernels.normalize(embedding.values()) : null;
+                if (!(userRef instanceof DBRef ref) || vector == null) {
+                    return;
+                }
+                String candidateId = ref.getId().toString();
+                try {
+                    fresh.upsert(candidateId, vector);
+                    resumeIds.put(candidateId, document.get("_id").toString());
+                } catch (IllegalArgumentException e) {
+                    log.warn("Skipping embedding for resume {}: {}", document.get("_id"), e.getMessage());
+                }
+            });
+        }
+        index = fresh;
+        resumeIdsByCandidate = resumeIds;
+
+        log.info("Loaded {} candidate embeddings into {} index in {}ms", fresh.size(), vectorIndexFactory.getType(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indexes {@code resume} as its owner's default resume, or drops the owner
+     * when it has no embedding.
+     */
+    public void upsert(Resume resume) {
+        if (index == null || resume == null || resume.getUserId() == null) {
+            return;
+        }
+        String candidateId = resume.getUserId().getId();
+        float[] vector = resume.getEmbedding() != null ? VectorKernels.normalize(resume.getEmbedding().values()) : null;
+        if (vector == null) {
+            remove(candidateId);
+            return;
+        }
+        try {
+            index.upsert(candidateId, vector);
+            resumeIdsByCandidate.put(candidateId, resume.getId());
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping embedding for resume {}: {}", resume.getId(), e.getMessage());
+        }
+    }
+
+    public void remove(String candidateId) {
+        if (index == null) {
+            return;
+        }
+        index.remove(candidateId);
+        resumeIdsByCandidate.remove(candidateId);
+    }
+
+    public List<VectorIndex.Hit> search(float[] embedding, int limit) {
+        float[] query = embedding != null ? VectorKernels.normalize(embedding) : null;
+        if (index == null || query == null) {
+            return List.of();
+        }
+        return index.search(query, limit);
+    }
+
+    public String resumeIdOf(String candidateId) {
+        return resumeIdsByCandidate.get(candidateId);
+    }
+
+    public int size() {
+        return index != null ? index.size() : 0;
+    }
+}
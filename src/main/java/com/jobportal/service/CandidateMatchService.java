@@ -0,0 +1,124 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.Job;
+import com.jobportal.entity.User;
+import com.jobportal.exception.JobPortalException;
+import com.jobportal.repository.JobRepository;
+import com.jobportal.repository.UserRepository;
+import com.jobportal.util.VectorIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks applicants for a job by similarity between the job embedding and
+ * their default resume, served from {@link CandidateEmbeddingIndex}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CandidateMatchService {
+
+    private static final int MAX_LIMIT = 100;
+    // Filtered searches start from a wider candidate set and widen further until enough pass
+    private static final int FILTER_OVERFETCH = 5;
+
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final CandidateEmbeddingIndex candidateEmbeddingIndex;
+
+    public List<Map<String, Object>> matchCandidates(String jobId, User recruiter, int limit, String location,
+                                                     List<String> skills) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new JobPortalException("Job not found"));
+        if (job.getPostedBy() == null || !job.getPostedBy().getId().equals(recruiter.getId())) {
+            throw new JobPortalException("You don't have permission to view candidates for this job");
+        }
+        if (job.getEmbedding() == null) {
+            throw new JobPortalException("Job has no embedding yet. Try again shortly.");
+        }
+
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String locationFilter = location != null && !location.isBlank() ? location.toLowerCase(Locale.ROOT) : null;
+        Set<String> skillFilter = skills == null ? Set.of() : skills.stream()
+                .filter(skill -> skill != null && !skill.isBlank())
+                .map(skill -> skill.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        boolean filtered = locationFilter != null || !skillFilter.isEmpty();
+
+        int fetch = filtered ? k * FILTER_OVERFETCH : k;
+        List<Map<String, Object>> results = new ArrayList<>(k);
+        while (true) {
+            List<VectorIndex.Hit> hits = candidateEmbeddingIndex.search(job.getEmbedding().values(), fetch);
+            Map<String, User> usersById = userRepository.findCandidateSummariesByIdIn(
+                            hits.stream().map(VectorIndex.Hit::id).toList())
+                    .stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+
+            results.clear();
+            for (VectorIndex.Hit hit : hits) {
+                User candidate = usersById.get(hit.id());
+                if (candidate == null || !matchesFilters(candidate, locationFilter, skillFilter)) {
+                    continue;
+                }
+                results.add(toResult(candidate, hit));
+                if (results.size() == k) {
+                    break;
+                }
+            }
+            if (results.size() == k || hits.size() < fetch || fetch >= candidateEmbeddingIndex.size()) {
+                return results;
+            }
+            fetch *= 2;
+        }
+    }
+
+    /**
+     * Bounded keyword lookup for callers with no job to rank against.
+     */
+    public List<Map<String, Object>> searchCandidates(String skill, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        List<User> candidates = skill != null && !skill.isBlank()
+                ? userRepository.searchCandidatesBySkills(List.of(skill), page)
+                : userRepository.findActiveCandidates(page);
+        return candidates.stream().map(candidate -> toResult(candidate, null)).toList();
+    }
+
+    private boolean matchesFilters(User candidate, String locationFilter, Set<String> skillFilter) {
+        if (locationFilter != null && (candidate.getLocation() == null
+                || !candidate.getLocation().toLowerCase(Locale.ROOT).contains(locationFilter))) {
+            return false;
+        }
+        if (!skillFilter.isEmpty()) {
+            if (candidate.getSkills() == null) {
+                return false;
+            }
+            return candidate.getSkills().stream()
+                    .anyMatch(skill -> skill != null && skillFilter.contains(skill.trim().toLowerCase(Locale.ROOT)));
+        }
+        return true;
+    }
+
+    private Map<String, Object> toResult(User candidate, VectorIndex.Hit hit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("candidateId", candidate.getId());
+        result.put("name", candidate.getName());
+        result.put("location", candidate.getLocation());
+        result.put("skills", candidate.getSkills());
+        if (hit != null) {
+            result.put("resumeId", candidateEmbeddingIndex.resumeIdOf(candidate.getId()));
+            result.put("matchScore", Math.round(hit.score() * 10000.0) / 100.0);
+        }
+        return result;
+    }
+}
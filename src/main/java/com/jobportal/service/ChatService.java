@@ -18,6 +18,7 @@ import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.SystemPromptTemplate;
 import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -28,6 +29,9 @@ import java.util.*;
 @RequiredArgsConstructor
 public class ChatService {
 
+    private static final int CANDIDATE_RESULT_LIMIT = 20;
+    private static final int JOB_RESULT_LIMIT = 20;
+
     private final ChatClient chatClient;
     private final JobRepository jobRepository;
     private final ResumeRepository resumeRepository;
@@ -35,7 +39,6 @@ public class ChatService {
     private final EmbeddingService embeddingService;
     private final ChatMemory chatMemory;
     private final ObjectMapper objectMapper;
-    private final UserRepository userRepository;
     private final ApplicationRepository applicationRepository;
     
     private final JobTrendService jobTrendService;
@@ -43,6 +46,8 @@ public class ChatService {
     private final FallbackService fallbackService;
     private final PromptBuilderService promptBuilderService;
     private final ApplicationHelpService applicationHelpService;
+    private final CandidateMatchService candidateMatchService;
+    private final JobQueryService jobQueryService;
 
     @MonitoredAI
     public ChatResponse processChat(String message, User user) {
@@ -123,7 +128,7 @@ public class ChatService {
         switch (response.getIntent()) {
             case JOB_SEARCH -> handleJobSearch(response);
             case RESUME_JOB_MATCH -> handleResumeJobMatch(response, user);
-            case CANDIDATE_SEARCH -> handleCandidateSearch(response);
+            case CANDIDATE_SEARCH -> handleCandidateSearch(response, user);
             case JOB_TREND_ANALYSIS -> handleJobTrend(response);
             case SALARY_INSIGHT -> handleSalaryInsight(response);
             case APPLICATION_HELP -> handleApplicationHelp(response, user);
@@ -133,23 +138,11 @@ public class ChatService {
 
     private void handleJobSearch(ChatResponse response) {
         JsonNode filters = (JsonNode) response.getMetadata().get("filters");
-        if (filters == null || filters.isEmpty()) {
-            response.setData(jobRepository.findByStatusOrderByCreatedAtDesc("active"));
-            return;
-        }
-
-        String location = filters.path("location").asText(null);
-        String jobType = filters.path("jobType").asText(null);
-        
-        if (location != null && jobType != null) {
-            response.setData(jobRepository.findByFilters("active", location, jobType));
-        } else if (location != null) {
-            response.setData(jobRepository.findByLocation(location));
-        } else if (jobType != null) {
-            response.setData(jobRepository.findByJobType(jobType));
-        } else {
-            response.setData(jobRepository.findByStatusOrderByCreatedAtDesc("active"));
-        }
+        JobQueryService.Filter filter = filters == null || filters.isEmpty()
+                ? new JobQueryService.Filter(null, null, null)
+                : new JobQueryService.Filter(filters.path("location").asText(null),
+                        filters.path("jobType").asText(null), filters.path("category").asText(null));
+        response.setData(jobQueryService.findActiveJobs(filter, PageRequest.of(0, JOB_RESULT_LIMIT)).getContent());
     }
 
     private void handleResumeJobMatch(ChatResponse response, User user) {
@@ -158,8 +151,8 @@ public class ChatService {
         Optional<Resume> resumeOpt = resumeRepository.findByUserIdAndIsDefaultTrue(user);
 
         if (jobOpt.isPresent() && resumeOpt.isPresent()) {
-            List<Double> jV = embeddingService.getEmbedding(jobOpt.get().getDescription());
-            List<Double> rV = embeddingService.getEmbedding(resumeOpt.get().getParsedData().toString());
+            List<Double> jV = embeddingService.generateEmbedding(jobOpt.get().getDescription());
+            List<Double> rV = embeddingService.generateEmbedding(resumeOpt.get().getParsedData().toString());
             double sim = CosineSimilarityUtil.calculate(jV, rV);
             
             Map<String, Object> match = new HashMap<>();
@@ -169,8 +162,16 @@ public class ChatService {
         }
     }
 
-    private void handleCandidateSearch(ChatResponse response) {
-        response.setData(userRepository.findByAccountType(com.jobportal.dto.AccountType.APPLICANT));
+    private void handleCandidateSearch(ChatResponse response, User user) {
+        String jobId = (String) response.getMetadata().get("jobId");
+        String skill = (String) response.getMetadata().get("skill");
+        String location = (String) response.getMetadata().get("location");
+        if (jobId != null && !jobId.isBlank()) {
+            response.setData(candidateMatchService.matchCandidates(jobId, user, CANDIDATE_RESULT_LIMIT, location,
+                    skill != null ? List.of(skill) : List.of()));
+            return;
+        }
+        response.setData(candidateMatchService.searchCandidates(skill, CANDIDATE_RESULT_LIMIT));
     }
 
     private void handleJobTrend(ChatResponse response) {
@@ -0,0 +1,89 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.CursorPage;
+import com.jobportal.exception.JobPortalException;
+import com.jobportal.util.CursorToken;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination for listings ordered newest first by a timestamp field
+ * and then by id.
+ *
+ * Instead of skipping over earlier pages, each page seeks to the entries
+ * strictly after the {@link CursorToken} of the previous page's last entry,
+ * which an index on (filter fields, timestamp) answers directly however deep
+ * the client has scrolled. One extra entry is read to tell whether another
+ * page follows, and the total is only counted on request.
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorPager {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.pagination.cursor.max-size:100}")
+    private int maxSize;
+
+    /**
+     * @param filter         selects the listing; may carry a field projection
+     * @param timestampField field the listing is ordered by, newest first
+     * @param timestampOf    reads that field from a loaded entry
+     * @param cursor         token from the previous page, or null or blank for the first page
+     */
+    public <T> CursorPage<T> page(Query filter, Class<T> type, String timestampField,
+                                  Function<T, LocalDateTime> timestampOf, Function<T, String> idOf,
+                                  String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, maxSize));
+        // Entries without a timestamp have no place in the order and are left out
+        Long total = includeTotal
+                ? mongoTemplate.count(Query.of(filter).addCriteria(Criteria.where(timestampField).ne(null)), type)
+                : null;
+
+        Query query = Query.of(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(after(timestampField, decode(cursor)));
+        } else {
+            query.addCriteria(Criteria.where(timestampField).ne(null));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, timestampField).and(Sort.by(Sort.Direction.DESC, "_id")));
+        query.limit(pageSize + 1);
+
+        List<T> entries = mongoTemplate.find(query, type);
+        boolean hasNext = entries.size() > pageSize;
+        if (hasNext) {
+            entries = entries.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            T last = entries.get(entries.size() - 1);
+            nextCursor = new CursorToken(timestampOf.apply(last), idOf.apply(last)).encode();
+        }
+        return new CursorPage<>(entries, nextCursor, hasNext, total);
+    }
+
+    private static Criteria after(String timestampField, CursorToken token) {
+        Object id = ObjectId.isValid(token.id()) ? new ObjectId(token.id()) : token.id();
+        return new Criteria().orOperator(
+                Criteria.where(timestampField).lt(token.timestamp()),
+                Criteria.where(timestampField).is(token.timestamp()).and("_id").lt(id));
+    }
+
+    private static CursorToken decode(String cursor) {
+        try {
+            return CursorToken.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new JobPortalException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.EmbeddingBackfillState;
+import com.jobportal.entity.EmbeddingVector;
+import com.jobportal.entity.Job;
+import com.jobportal.entity.Resume;
+import com.jobportal.exception.JobPortalException;
+import com.jobportal.repository.EmbeddingBackfillStateRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Re-embeds jobs and resumes that have no vector or were embedded by a model
+ * other than the configured one, and jobs the embedding queue gave up on,
+ * after first rewriting any embeddings still stored in the legacy
+ * array-of-doubles format into the binary encoding.
+ *
+ * Each collection is walked in {@code _id} order one page at a time; every
+ * page is embedded (jobs through {@link EmbeddingService#generateEmbeddings},
+ * resumes chunk by chunk like an upload), written back with a single unordered
+ * bulk update and checkpointed, so a restarted run continues where the
+ * previous one stopped. Re-embedded jobs are matched against a side index of
+ * the {@link JobEmbeddingIndex} while it still serves the earlier model, and
+ * that index is swapped in once the jobs backfill completes.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddingBackfillService {
+
+    private static final String STATUS_RUNNING = "running";
+    private static final String STATUS_STOPPED = "stopped";
+    static final String STATUS_COMPLETED = "completed";
+
+    private final MongoTemplate mongoTemplate;
+    private final EmbeddingService embeddingService;
+    private final EmbeddingBackfillStateRepository stateRepository;
+    private final JobEmbeddingIndex jobEmbeddingIndex;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean stopRequested = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "embedding-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public List<EmbeddingBackfillState> start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new JobPortalException("Embedding backfill is already running");
+        }
+        stopRequested.set(false);
+        executor.execute(() -> {
+            try {
+                migrateStorage("jobs", Job.class, Job::getId, Job::getEmbedding);
+                migrateStorage("resumes", Resume.class, Resume::getId, Resume::getEmbedding);
+                if (backfill("jobs", Job.class, Job::getId, this::embedJobs, jobEmbeddingIndex::upsert, null,
+                        "title", "description", "skills", "status", "location", "jobType", "category",
+                        "experienceLevel", "salaryMin", "salaryMax")) {
+                    jobEmbeddingIndex.completeModelChange();
+                }
+                // Uploads without extractable text are stored with empty text and never had a vector to replace
+                backfill("resumes", Resume.class, Resume::getId, this::embedResumes, null,
+                        Criteria.where("text").nin(null, ""), "text");
+            } catch (Exception e) {
+                log.error("Embedding backfill failed: {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return getStatus();
+    }
+
+    public void stop() {
+        stopRequested.set(true);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public List<EmbeddingBackfillState> getStatus() {
+        return stateRepository.findAll();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stopRequested.set(true);
+        executor.shutdown();
+    }
+
+    /**
+     * Embeds one page of documents with {@code model}, returning the update to
+     * write for each, or null where embedding failed.
+     */
+    private interface PageEmbedder<T> {
+        List<Update> embed(List<T> page, String model);
+    }
+
+    private List<Update> embedJobs(List<Job> jobs, String model) {
+        List<String> texts = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            texts.add(EmbeddingService.jobEmbeddingText(job));
+        }
+        List<List<Double>> embeddings = embeddingService.generateEmbeddings(texts);
+
+        List<Update> updates = new ArrayList<>(jobs.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < jobs.size(); i++) {
+            List<Double> embedding = embeddings.get(i);
+            if (embedding == null) {
+                updates.add(null);
+                continue;
+            }
+            Job job = jobs.get(i);
+            job.setEmbedding(EmbeddingVector.of(embedding));
+            job.setEmbeddingModel(model);
+            job.setEmbeddingStatus(EmbeddingQueueService.EMBEDDING_READY);
+            // updatedAt lets other nodes' job index delta sync pick up the new vector
+            updates.add(new Update()
+                    .set("embedding", job.getEmbedding())
+                    .set("embeddingModel", model)
+                    .set("updatedAt", now)
+                    .set("embeddingStatus", EmbeddingQueueService.EMBEDDING_READY)
+                    .set("embeddingFingerprint", embeddingService.fingerprint(texts.get(i))));
+        }
+        return updates;
+    }
+
+    // Chunked like uploads, so long resumes keep their per-section vectors instead of one truncated one
+    private List<Update> embedResumes(List<Resume> resumes, String model) {
+        List<Update> updates = new ArrayList<>(resumes.size());
+        for (Resume resume : resumes) {
+            EmbeddingService.ChunkedEmbedding embedding = embeddingService.generateChunkedEmbedding(resume.getText());
+            updates.add(embedding == null ? null : new Update()
+                    .set("embedding", embedding.pooled())
+                    .set("chunkEmbeddings", embedding.chunks())
+                    .set("embeddingModel", model));
+        }
+        return updates;
+    }
+
+    /**
+     * Returns true once every matching document has been processed, false
+     * when stopped first.
+     */
+    private <T> boolean backfill(String collection, Class<T> type, Function<T, String> idOf, PageEmbedder<T> embedder,
+                              Consumer<T> onEmbedded, Criteria eligible, String... fields) {
+        String model = embeddingService.getModel();
+        EmbeddingBackfillState state = stateRepository.findById(collection).orElse(null);
+        if (state == null || STATUS_COMPLETED.equals(state.getStatus()) || !model.equals(state.getModel())) {
+            state = EmbeddingBackfillState.builder()
+                    .id(collection)
+                    .model(model)
+                    .startedAt(LocalDateTime.now())
+                    .build();
+        }
+        state.setStatus(STATUS_RUNNING);
+        state.setUpdatedAt(LocalDateTime.now());
+        stateRepository.save(state);
+        log.info("Embedding backfill of {} started with model {} after id {}", collection, model, state.getLastId());
+
+        int pageSize = embeddingService.getBatchSize();
+        while (!stopRequested.get()) {
+            List<Criteria> conditions = new ArrayList<>();
+            // Jobs the queue gave up on are out of matching until re-embedded here
+            conditions.add(new Criteria().orOperator(
+                    Criteria.where("embedding").is(null),
+                    Criteria.where("embeddingModel").ne(model),
+                    Criteria.where("embeddingStatus").is(EmbeddingQueueService.EMBEDDING_FAILED)));
+            if (eligible != null) {
+                conditions.add(eligible);
+            }
+            if (state.getLastId() != null) {
+                conditions.add(Criteria.where("_id").gt(toId(state.getLastId())));
+            }
+            Criteria criteria = new Criteria().andOperator(conditions);
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(pageSize);
+            query.fields().include(fields);
+
+            List<T> page = mongoTemplate.find(query, type);
+            if (page.isEmpty()) {
+                state.setStatus(STATUS_COMPLETED);
+                state.setUpdatedAt(LocalDateTime.now());
+                stateRepository.save(state);
+                log.info("Embedding backfill of {} completed: {} processed, {} embedded, {} failed",
+                        collection, state.getProcessed(), state.getEmbedded(), state.getFailed());
+                return true;
+            }
+
+            List<Update> updates = embedder.embed(page, model);
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            int writes = 0;
+            for (int i = 0; i < page.size(); i++) {
+                if (updates.get(i) == null) {
+                    state.setFailed(state.getFailed() + 1);
+                    continue;
+                }
+                bulk.updateOne(Query.query(Criteria.where("_id").is(toId(idOf.apply(page.get(i))))), updates.get(i));
+                writes++;
+            }
+            if (writes > 0) {
+                bulk.execute();
+            }
+            if (onEmbedded != null) {
+                for (int i = 0; i < page.size(); i++) {
+                    if (updates.get(i) != null) {
+                        onEmbedded.accept(page.get(i));
+                    }
+                }
+            }
+
+            state.setLastId(idOf.apply(page.get(page.size() - 1)));
+            state.setProcessed(state.getProcessed() + page.size());
+            state.setEmbedded(state.getEmbedded() + writes);
+            state.setUpdatedAt(LocalDateTime.now());
+            stateRepository.save(state);
+        }
+
+        state.setStatus(STATUS_STOPPED);
+        state.setUpdatedAt(LocalDateTime.now());
+        stateRepository.save(state);
+        log.info("Embedding backfill of {} stopped after id {}", collection, state.getLastId());
+        return false;
+    }
+
+    /**
+     * Rewrites embeddings still stored as BSON arrays in the binary encoding.
+     * Reading them goes through the legacy converter, writing them back through
+     * the binary one; the vectors themselves are unchanged, so the job index
+     * and {@code updatedAt} are left alone.
+     */
+    private <T> void migrateStorage(String collection, Class<T> type, Function<T, String> idOf,
+                                    Function<T, EmbeddingVector> embeddingOf) {
+        int pageSize = embeddingService.getBatchSize() * 4;
+        long migrated = 0;
+        String lastId = null;
+        while (!stopRequested.get()) {
+            Criteria criteria = Criteria.where("embedding").type(JsonSchemaObject.Type.ARRAY);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(toId(lastId));
+            }
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(pageSize);
+            query.fields().include("embedding");
+
+            List<T> page = mongoTemplate.find(query, type);
+            if (page.isEmpty()) {
+                break;
+            }
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            for (T document : page) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(toId(idOf.apply(document)))),
+                        new Update().set("embedding", embeddingOf.apply(document)));
+            }
+            bulk.execute();
+            migrated += page.size();
+            lastId = idOf.apply(page.get(page.size() - 1));
+        }
+        if (migrated > 0) {
+            log.info("Migrated {} {} embeddings to binary storage", migrated, collection);
+        }
+    }
+
+    private static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
@@ -0,0 +1,178 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.EmbeddingCache;
+import com.jobportal.repository.EmbeddingCacheRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Two-tier cache of embeddings keyed by model name plus a hash of the
+ * normalized input text: a bounded in-process LRU in front of the Mongo
+ * {@code embeddings_cache} collection.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddingCacheService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final EmbeddingCacheRepository embeddingCacheRepository;
+
+    @Value("${spring.ai.ollama.embedding.options.model:nomic-embed-text}")
+    private String model;
+
+    @Value("${app.embedding.cache.max-entries:2000}")
+    private int maxEntries;
+
+    // Stored as double[] rather than List<Double> to keep each entry ~6 KB at 768 dimensions
+    private final Map<String, double[]> localCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder mongoHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder modelNanos = new LongAdder();
+    private final LongAdder modelCalls = new LongAdder();
+
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * Cache key for {@code text} under the configured embedding model. Text is
+     * NFC-normalized and whitespace-collapsed first so formatting-only edits
+     * map to the same entry.
+     */
+    public String contentHash(String text) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC)).replaceAll(" ").trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public List<Double> get(String contentHash) {
+        long start = System.nanoTime();
+        try {
+            double[] local;
+            synchronized (localCache) {
+                local = localCache.get(contentHash);
+            }
+            if (local != null) {
+                localHits.increment();
+                return toList(local);
+            }
+
+            EmbeddingCache stored = embeddingCacheRepository.findByContentHash(contentHash).orElse(null);
+            if (stored != null && stored.getVector() != null && !stored.getVector().isEmpty()) {
+                mongoHits.increment();
+                remember(contentHash, stored.getVector());
+                return stored.getVector();
+            }
+
+            misses.increment();
+            return null;
+        } catch (Exception e) {
+            log.warn("Embedding cache lookup failed: {}", e.getMessage());
+            misses.increment();
+            return null;
+        } finally {
+            lookupNanos.add(System.nanoTime() - start);
+            lookups.increment();
+        }
+    }
+
+    public void put(String contentHash, List<Double> vector) {
+        remember(contentHash, vector);
+        try {
+            embeddingCacheRepository.save(EmbeddingCache.builder()
+                    .contentHash(contentHash)
+                    .model(model)
+                    .vector(vector)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (DuplicateKeyException e) {
+            // Another request or node cached the same text concurrently
+        } catch (Exception e) {
+            log.warn("Failed to persist embedding cache entry: {}", e.getMessage());
+        }
+    }
+
+    public void recordModelCall(long nanos) {
+        modelNanos.add(nanos);
+        modelCalls.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        long localHitCount = localHits.sum();
+        long mongoHitCount = mongoHits.sum();
+        long missCount = misses.sum();
+        long total = localHitCount + mongoHitCount + missCount;
+        long lookupCount = lookups.sum();
+        long modelCallCount = modelCalls.sum();
+        int size;
+        synchronized (localCache) {
+            size = localCache.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("model", model);
+        stats.put("localEntries", size);
+        stats.put("localMaxEntries", maxEntries);
+        stats.put("localHits", localHitCount);
+        stats.put("mongoHits", mongoHitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total > 0 ? (double) (localHitCount + mongoHitCount) / total : 0.0);
+        stats.put("avgLookupMs", lookupCount > 0 ? (double) TimeUnit.NANOSECONDS.toMicros(lookupNanos.sum() / lookupCount) / 1000 : 0.0);
+        stats.put("modelCalls", modelCallCount);
+        stats.put("avgModelCallMs", modelCallCount > 0 ? (double) TimeUnit.NANOSECONDS.toMicros(modelNanos.sum() / modelCallCount) / 1000 : 0.0);
+        return stats;
+    }
+
+    private void remember(String contentHash, List<Double> vector) {
+        double[] values = new double[vector.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = vector.get(i);
+        }
+        synchronized (localCache) {
+            localCache.put(contentHash, values);
+        }
+    }
+
+    private static List<Double> toList(double[] values) {
+        List<Double> list = new ArrayList<>(values.length);
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,118 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.EmbeddingProjection;
+import com.jobportal.entity.Job;
+import com.jobportal.repository.EmbeddingProjectionRepository;
+import com.jobportal.util.LinearProjection;
+import com.jobportal.util.VectorKernels;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Owns the projection matrices behind the {@code two-stage} match index.
+ *
+ * The current matrix for an input dimension is the latest persisted version.
+ * When none exists yet one is fitted by PCA over a sample of job embeddings
+ * (or drawn at random when there are too few), saved under the next version
+ * and reused by every node from then on.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddingProjectionService {
+
+    private final EmbeddingProjectionRepository embeddingProjectionRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.matching.index.two-stage.dimensions:128}")
+    private int outputDimension;
+
+    @Value("${app.matching.index.two-stage.sample-size:5000}")
+    private int sampleSize;
+
+    private LinearProjection current;
+
+    public synchronized LinearProjection current(int inputDimension) {
+        if (current != null && current.inputDimension() == inputDimension) {
+            return current;
+        }
+        current = embeddingProjectionRepository.findFirstByInputDimensionOrderByVersionDesc(inputDimension)
+                .map(this::toProjection)
+                .orElseGet(() -> fit(inputDimension));
+        return current;
+    }
+
+    /**
+     * Fits a new projection version from the job embeddings currently stored.
+     * Indexes built with an older version must be reloaded to use it.
+     */
+    public synchronized LinearProjection fit(int inputDimension) {
+        long start = System.currentTimeMillis();
+        List<float[]> sample = sampleJobEmbeddings(inputDimension);
+        long version = embeddingProjectionRepository.findFirstByOrderByVersionDesc()
+                .map(EmbeddingProjection::getVersion)
+                .orElse(0L) + 1;
+
+        boolean pca = sample.size() >= outputDimension;
+        LinearProjection projection = pca
+                ? LinearProjection.fitPca(version, sample, outputDimension, version)
+                : LinearProjection.random(version, inputDimension, outputDimension, version);
+
+        embeddingProjectionRepository.save(EmbeddingProjection.builder()
+                .version(version)
+                .method(pca ? "pca" : "random")
+                .inputDimension(inputDimension)
+                .outputDimension(outputDimension)
+                .sampleSize(sample.size())
+                .matrix(projection.matrixBytes())
+                .createdAt(LocalDateTime.now())
+                .build());
+        current = projection;
+
+        log.info("Fitted {} projection v{} ({} -> {} dimensions) from {} job embeddings in {}ms",
+                pca ? "PCA" : "random", version, inputDimension, outputDimension, sample.size(),
+                System.currentTimeMillis() - start);
+        return projection;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", current != null ? current.version() : null);
+        stats.put("inputDimension", current != null ? current.inputDimension() : null);
+        stats.put("outputDimension", outputDimension);
+        return stats;
+    }
+
+    private List<float[]> sampleJobEmbeddings(int inputDimension) {
+        Query query = new Query(Criteria.where("status").is("active").and("embedding").exists(true)).limit(sampleSize);
+        query.fields().include("embedding");
+
+        List<float[]> sample = new ArrayList<>();
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            jobs.forEach(job -> {
+                float[] vector = job.getEmbedding() != null ? VectorKernels.normalize(job.getEmbedding().values()) : null;
+                if (vector != null && vector.length == inputDimension) {
+                    sample.add(vector);
+                }
+            });
+        }
+        return sample;
+    }
+
+    private LinearProjection toProjection(EmbeddingProjection stored) {
+        return LinearProjection.fromMatrixBytes(stored.getVersion(), stored.getInputDimension(),
+                stored.getOutputDimension(), stored.getMatrix());
+    }
+}
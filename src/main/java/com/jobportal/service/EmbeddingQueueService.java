@@ -0,0 +1,253 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.EmbeddingTask;
+import com.jobportal.entity.EmbeddingVector;
+import com.jobportal.entity.Job;
+import com.jobportal.repository.JobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mongo-backed queue that embeds jobs outside the request that saved them.
+ *
+ * {@link JobServiceImpl} enqueues a job and returns; workers claim tasks with
+ * a leased findAndModify, so queued work survives restarts and a task held by
+ * a crashed node is picked up again once its lease expires. Failed attempts
+ * are retried with exponential backoff until
+ * {@code app.embedding.queue.max-attempts}, after which the job is marked
+ * {@code failed} and left for the admin backfill.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddingQueueService {
+
+    public static final String EMBEDDING_PENDING = "pending";
+    public static final String EMBEDDING_READY = "ready";
+    public static final String EMBEDDING_FAILED = "failed";
+
+    private static final String TASK_PENDING = "pending";
+    private static final String TASK_PROCESSING = "processing";
+    private static final String TASK_FAILED = "failed";
+
+    private final MongoTemplate mongoTemplate;
+    private final JobRepository jobRepository;
+    private final EmbeddingService embeddingService;
+    private final JobEmbeddingIndex jobEmbeddingIndex;
+    private final ApplicationMatchService applicationMatchService;
+
+    @Value("${app.embedding.queue.workers:2}")
+    private int workerCount;
+
+    @Value("${app.embedding.queue.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.embedding.queue.backoff-ms:2000}")
+    private long backoffMs;
+
+    @Value("${app.embedding.queue.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Value("${app.embedding.queue.lease-ms:120000}")
+    private long leaseMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder avoided = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    private Semaphore slots;
+    private ExecutorService workers;
+
+    @PostConstruct
+    void init() {
+        // Tasks are only claimed while a worker is free, so nothing queues up in memory
+        slots = new Semaphore(workerCount);
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "embedding-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Whether {@code job} has to be (re-)embedded: its embedded text or the
+     * configured model changed since its stored vector was produced. Skips are
+     * counted as embeddings avoided.
+     */
+    public boolean needsEmbedding(Job job) {
+        if (job.getEmbedding() != null
+                && embeddingService.fingerprint(EmbeddingService.jobEmbeddingText(job)).equals(job.getEmbeddingFingerprint())) {
+            avoided.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void enqueue(String jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", TASK_PENDING)
+                .set("attempts", 0)
+                .set("nextAttemptAt", now)
+                .unset("lastError")
+                .inc("generation", 1)
+                .setOnInsert("createdAt", now);
+        mongoTemplate.upsert(Query.query(Criteria.where("jobId").is(jobId)), update, EmbeddingTask.class);
+    }
+
+    @Scheduled(fixedDelayString = "${app.embedding.queue.poll-interval-ms:1000}")
+    public void poll() {
+        while (slots.tryAcquire()) {
+            EmbeddingTask task;
+            try {
+                task = claimNext();
+            } catch (RuntimeException e) {
+                slots.release();
+                log.warn("Failed to claim embedding task: {}", e.getMessage());
+                return;
+            }
+            if (task == null) {
+                slots.release();
+                return;
+            }
+            workers.execute(() -> {
+                try {
+                    process(task);
+                } catch (RuntimeException e) {
+                    log.error("Embedding task for job {} failed: {}", task.getJobId(), e.getMessage(), e);
+                    fail(task, e.getMessage());
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", countTasks(TASK_PENDING));
+        stats.put("processing", countTasks(TASK_PROCESSING));
+        stats.put("failed", countTasks(TASK_FAILED));
+        stats.put("completed", completed.sum());
+        stats.put("embeddingsAvoided", avoided.sum());
+        stats.put("retried", retried.sum());
+        stats.put("abandoned", abandoned.sum());
+        return stats;
+    }
+
+    private EmbeddingTask claimNext() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(TASK_PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(TASK_PROCESSING).and("leaseExpiresAt").lt(now)))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        Update update = new Update()
+                .set("status", TASK_PROCESSING)
+                .set("leaseExpiresAt", now.plusNanos(leaseMs * 1_000_000))
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                EmbeddingTask.class);
+    }
+
+    private void process(EmbeddingTask task) {
+        Job job = jobRepository.findById(task.getJobId()).orElse(null);
+        if (job == null) {
+            complete(task);
+            return;
+        }
+
+        String text = EmbeddingService.jobEmbeddingText(job);
+        String fingerprint = embeddingService.fingerprint(text);
+        if (job.getEmbedding() != null && fingerprint.equals(job.getEmbeddingFingerprint())) {
+            // Already embedded from this exact text, e.g. an edit that was reverted
+            avoided.increment();
+            job.setEmbeddingStatus(EMBEDDING_READY);
+            // updatedAt brings the job back into other nodes' match index, which dropped it while pending
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(job.getId())), new Update()
+                    .set("embeddingStatus", EMBEDDING_READY)
+                    .set("updatedAt", LocalDateTime.now()), Job.class);
+            jobEmbeddingIndex.upsert(job);
+            complete(task);
+            return;
+        }
+
+        List<Double> embedding = embeddingService.generateEmbedding(text);
+        if (embedding == null) {
+            fail(task, "Embedding model returned no vector");
+            return;
+        }
+
+        job.setEmbedding(EmbeddingVector.of(embedding));
+        job.setEmbeddingModel(embeddingService.getModel());
+        job.setEmbeddingFingerprint(fingerprint);
+        job.setEmbeddingStatus(EMBEDDING_READY);
+        // Targeted update so concurrent edits to other fields are not overwritten
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(job.getId())), new Update()
+                .set("embedding", job.getEmbedding())
+                .set("embeddingModel", job.getEmbeddingModel())
+                .set("embeddingFingerprint", fingerprint)
+                .set("embeddingStatus", EMBEDDING_READY)
+                .set("updatedAt", LocalDateTime.now()), Job.class);
+        jobEmbeddingIndex.upsert(job);
+        applicationMatchService.scorePendingApplications(job);
+        complete(task);
+    }
+
+    private void complete(EmbeddingTask task) {
+        completed.increment();
+        // A newer generation means the job changed mid-run; leave that task for another pass
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(task.getId())
+                .and("generation").is(task.getGeneration())), EmbeddingTask.class);
+    }
+
+    private void fail(EmbeddingTask task, String error) {
+        Query current = Query.query(Criteria.where("_id").is(task.getId()).and("generation").is(task.getGeneration()));
+        if (task.getAttempts() >= maxAttempts) {
+            abandoned.increment();
+            mongoTemplate.updateFirst(current, new Update().set("status", TASK_FAILED).set("lastError", error),
+                    EmbeddingTask.class);
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(task.getJobId())),
+                    new Update().set("embeddingStatus", EMBEDDING_FAILED), Job.class);
+            log.warn("Giving up on embedding job {} after {} attempts: {}", task.getJobId(), task.getAttempts(), error);
+            return;
+        }
+        retried.increment();
+        long delay = Math.min(maxBackoffMs, backoffMs << Math.min(task.getAttempts() - 1, 20));
+        mongoTemplate.updateFirst(current, new Update()
+                .set("status", TASK_PENDING)
+                .set("nextAttemptAt", LocalDateTime.now().plusNanos(delay * 1_000_000))
+                .set("lastError", error), EmbeddingTask.class);
+    }
+
+    private long countTasks(String status) {
+        return mongoTemplate.count(Query.query(Criteria.where("status").is(status)), EmbeddingTask.class);
+    }
+}
@@ -1,11 +1,24 @@
 package com.jobportal.service;
 
+import com.jobportal.entity.EmbeddingVector;
+import com.jobportal.entity.Job;
+import com.jobportal.util.TextChunker;
+import com.jobportal.util.VectorKernels;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.embedding.EmbeddingClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @Slf4j
@@ -13,17 +26,192 @@ import java.util.List;
 public class EmbeddingService {
 
     private final EmbeddingClient embeddingClient;
+    private final EmbeddingCacheService embeddingCacheService;
+
+    @Value("${app.embedding.batch.size:32}")
+    private int batchSize;
+
+    @Value("${app.embedding.batch.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.embedding.resume.chunk-chars:1500}")
+    private int chunkChars;
+
+    @Value("${app.embedding.resume.chunk-overlap:200}")
+    private int chunkOverlap;
+
+    @Value("${app.embedding.resume.max-chunks:16}")
+    private int maxChunks;
+
+    private ExecutorService batchExecutor;
+
+    private TextChunker textChunker;
+
+    /**
+     * Embedding of a long document: the mean of its normalized chunk vectors
+     * plus the chunk vectors themselves. {@code chunks} is empty when the
+     * text fits in one chunk, since the pooled vector is then that chunk.
+     */
+    public record ChunkedEmbedding(EmbeddingVector pooled, List<EmbeddingVector> chunks) {
+    }
+
+    @PostConstruct
+    void startBatchExecutor() {
+        textChunker = new TextChunker(chunkChars, chunkOverlap);
+        AtomicInteger threadCount = new AtomicInteger();
+        batchExecutor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "embedding-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopBatchExecutor() {
+        batchExecutor.shutdownNow();
+    }
+
+    /**
+     * Text a job is embedded from. Shared by the write path and the backfill
+     * runner so both produce identical vectors for identical jobs.
+     */
+    public static String jobEmbeddingText(Job job) {
+        return job.getTitle() + " " + job.getDescription() + " " + (job.getSkills() != null ? String.join(" ", job.getSkills()) : "");
+    }
+
+    public String getModel() {
+        return embeddingCacheService.getModel();
+    }
+
+    /**
+     * Identifies {@code text} as embedded by the configured model. Equal
+     * fingerprints mean an embedding call would return the same vector.
+     */
+    public String fingerprint(String text) {
+        return embeddingCacheService.contentHash(text);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
 
     public List<Double> generateEmbedding(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+
+        String contentHash = embeddingCacheService.contentHash(text);
+        List<Double> cached = embeddingCacheService.get(contentHash);
+        if (cached != null) {
+            return cached;
+        }
+        return embedUncached(text, contentHash);
+    }
+
+    /**
+     * Splits {@code text} with a {@link TextChunker} and embeds the chunks
+     * through {@link #generateEmbeddings(List)}, so they run concurrently
+     * under the batch concurrency cap. Chunks past
+     * {@code app.embedding.resume.max-chunks} are dropped; failed chunks are
+     * left out of the result. Returns null when no chunk could be embedded.
+     */
+    public ChunkedEmbedding generateChunkedEmbedding(String text) {
+        List<String> chunks = textChunker.chunk(text);
+        if (chunks.isEmpty()) {
+            return null;
+        }
+        if (chunks.size() > maxChunks) {
+            log.warn("Embedding only the first {} of {} chunks", maxChunks, chunks.size());
+            chunks = chunks.subList(0, maxChunks);
+        }
+
+        List<float[]> vectors = new ArrayList<>(chunks.size());
+        for (List<Double> embedding : generateEmbeddings(chunks)) {
+            float[] unit = embedding != null ? VectorKernels.toUnitVector(embedding) : null;
+            if (unit != null && (vectors.isEmpty() || vectors.get(0).length == unit.length)) {
+                vectors.add(unit);
+            }
+        }
+        if (vectors.isEmpty()) {
+            return null;
+        }
+        if (vectors.size() == 1) {
+            return new ChunkedEmbedding(EmbeddingVector.of(vectors.get(0)), List.of());
+        }
+
+        float[] pooled = new float[vectors.get(0).length];
+        List<EmbeddingVector> chunkVectors = new ArrayList<>(vectors.size());
+        for (float[] vector : vectors) {
+            for (int i = 0; i < pooled.length; i++) {
+                pooled[i] += vector[i];
+            }
+            chunkVectors.add(EmbeddingVector.of(vector));
+        }
+        float[] unitPooled = VectorKernels.normalize(pooled);
+        return unitPooled != null ? new ChunkedEmbedding(EmbeddingVector.of(unitPooled), chunkVectors) : null;
+    }
+
+    /**
+     * Embeds many texts, returning vectors in input order with null for blank
+     * inputs and failures. Cache hits are resolved first; the rest are sent in
+     * waves of {@code app.embedding.batch.size} with at most
+     * {@code app.embedding.batch.concurrency} model calls in flight. The Ollama
+     * client embeds one input per request, so a batch fans out over the pool
+     * rather than going as a single multi-input call.
+     */
+    public List<List<Double>> generateEmbeddings(List<String> texts) {
+        List<Double>[] results = newResultArray(texts.size());
+        List<Integer> pending = new ArrayList<>();
+        String[] hashes = new String[texts.size()];
+
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            hashes[i] = embeddingCacheService.contentHash(text);
+            results[i] = embeddingCacheService.get(hashes[i]);
+            if (results[i] == null) {
+                pending.add(i);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Integer> wave = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[wave.size()];
+            for (int w = 0; w < wave.size(); w++) {
+                int i = wave.get(w);
+                futures[w] = CompletableFuture.runAsync(() -> results[i] = embedUncached(texts.get(i), hashes[i]), batchExecutor);
+            }
+            CompletableFuture.allOf(futures).join();
+        }
+
+        if (!pending.isEmpty()) {
+            log.info("Embedded {} of {} texts ({} served from cache)", pending.size(), texts.size(), texts.size() - pending.size());
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<Double> embedUncached(String text, String contentHash) {
         try {
-            long startTime = System.currentTimeMillis();
+            long startTime = System.nanoTime();
             List<Double> embedding = embeddingClient.embed(text);
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("Generated embedding in {}ms for text length: {}", duration, text.length());
+            long duration = System.nanoTime() - startTime;
+            embeddingCacheService.recordModelCall(duration);
+            log.info("Generated embedding in {}ms for text length: {}", duration / 1_000_000, text.length());
+
+            if (embedding != null && !embedding.isEmpty()) {
+                embeddingCacheService.put(contentHash, embedding);
+            }
             return embedding;
         } catch (Exception e) {
             log.error("Error generating embedding: {}", e.getMessage());
             return null;
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private static List<Double>[] newResultArray(int size) {
+        return (List<Double>[]) new List[size];
+    }
 }
@@ -2,9 +2,9 @@ package com.jobportal.service;
 
 import com.jobportal.dto.ChatResponse;
 import com.jobportal.dto.Intent;
-import com.jobportal.repository.JobRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.regex.Matcher;
@@ -15,7 +15,9 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class FallbackService {
 
-    private final JobRepository jobRepository;
+    private static final int JOB_RESULT_LIMIT = 20;
+
+    private final JobQueryService jobQueryService;
 
     public ChatResponse handleFallback(String query) {
         log.warn("Triggering fallback keyword search for: {}", query);
@@ -28,11 +30,8 @@ public class FallbackService {
                 .message("I'm having a bit of trouble with my advanced logic, but I found these jobs that might interest you:")
                 .build();
 
-        if (location != null) {
-            response.setData(jobRepository.findByLocation(location));
-        } else {
-            response.setData(jobRepository.findByStatusOrderByCreatedAtDesc("active"));
-        }
+        response.setData(jobQueryService.findActiveJobs(new JobQueryService.Filter(location, null, null),
+                PageRequest.of(0, JOB_RESULT_LIMIT)).getContent());
         
         return response;
     }
@@ -0,0 +1,155 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.Job;
+import com.jobportal.util.Bm25Index;
+import com.jobportal.util.TrigramIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Spelling correction for job searches, so "javascrpt" or "kubernets" still
+ * find jobs when the exact query finds few.
+ *
+ * Keeps a {@link TrigramIndex} over the words of active job titles and
+ * skills, rebuilt on a schedule and extended by {@link JobServiceImpl} on
+ * every job write. Each query word that is not in the vocabulary is replaced
+ * by its closest indexed spelling, allowing one edit for words of five to
+ * eight characters and two for longer ones. The whole correction gives up
+ * once {@code app.search.fuzzy.budget-ms} has passed.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class FuzzyQueryService {
+
+    private static final int MIN_FUZZY_LENGTH = 5;
+    private static final int TWO_EDIT_LENGTH = 9;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.search.fuzzy.budget-ms:15}")
+    private long budgetMs;
+
+    @Value("${app.search.fuzzy.min-hits:3}")
+    private int minHits;
+
+    private volatile TrigramIndex index = new TrigramIndex();
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder corrections = new LongAdder();
+    private final LongAdder budgetExceeded = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search.fuzzy.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.search.fuzzy.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        TrigramIndex rebuilt = new TrigramIndex();
+        Query query = new Query(Criteria.where("status").is("active"));
+        query.fields().include("title", "skills");
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            jobs.forEach(job -> addTo(rebuilt, job));
+        }
+        index = rebuilt;
+        log.info("Indexed {} search terms for spelling correction in {}ms", rebuilt.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    public void add(Job job) {
+        if (job != null && "active".equals(job.getStatus())) {
+            addTo(index, job);
+        }
+    }
+
+    /**
+     * Whether a search whose text matching found {@code textMatches} jobs is
+     * worth retrying with corrected spelling. Only the text matches count:
+     * embedding neighbours come back for any query, typo or not.
+     */
+    public boolean tooFewHits(long textMatches) {
+        return textMatches < minHits;
+    }
+
+    /**
+     * {@code searchText} with misspelled words replaced, or null when no word
+     * needed or found a correction.
+     */
+    public String correct(String searchText) {
+        long start = System.nanoTime();
+        long deadline = start + budgetMs * 1_000_000;
+        attempts.increment();
+        TrigramIndex current = index;
+
+        List<String> words = Bm25Index.tokenize(searchText);
+        boolean changed = false;
+        boolean outOfBudget = false;
+        StringBuilder corrected = new StringBuilder();
+        for (String word : words) {
+            String replacement = word;
+            if (!outOfBudget && word.length() >= MIN_FUZZY_LENGTH && current.frequency(word) == 0) {
+                if (System.nanoTime() > deadline) {
+                    // This and later words are kept as typed
+                    budgetExceeded.increment();
+                    outOfBudget = true;
+                } else {
+                    int maxEdits = word.length() >= TWO_EDIT_LENGTH ? 2 : 1;
+                    List<TrigramIndex.Match> matches = current.lookup(word, maxEdits, 1, deadline);
+                    if (!matches.isEmpty()) {
+                        replacement = matches.get(0).term();
+                        changed = true;
+                    }
+                }
+            }
+            if (corrected.length() > 0) {
+                corrected.append(' ');
+            }
+            corrected.append(replacement);
+        }
+
+        totalNanos.add(System.nanoTime() - start);
+        if (!changed) {
+            return null;
+        }
+        corrections.increment();
+        return corrected.toString();
+    }
+
+    public Map<String, Object> getStats() {
+        long count = attempts.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("terms", index.size());
+        stats.put("attempts", count);
+        stats.put("corrections", corrections.sum());
+        stats.put("budgetExceeded", budgetExceeded.sum());
+        stats.put("avgLatencyMs", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count);
+        return stats;
+    }
+
+    private static void addTo(TrigramIndex target, Job job) {
+        for (String word : Bm25Index.tokenize(job.getTitle())) {
+            target.add(word, 1);
+        }
+        if (job.getSkills() != null) {
+            for (String skill : job.getSkills()) {
+                for (String word : Bm25Index.tokenize(skill)) {
+                    target.add(word, 1);
+                }
+            }
+        }
+    }
+}
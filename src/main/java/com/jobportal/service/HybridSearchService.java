@@ -0,0 +1,186 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.EmbeddingVector;
+import com.jobportal.entity.Job;
+import com.jobportal.util.Bm25Index;
+import com.jobportal.util.VectorIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ranks active jobs for a free-text query by fusing text relevance, from
+ * Mongo {@code $text} or {@link JobTextIndex} depending on
+ * {@code app.search.backend}, with embedding similarity from
+ * {@link JobEmbeddingIndex}. Used for {@code mode=hybrid} searches only.
+ *
+ * The text side contributes its top {@code app.search.hybrid.candidates} jobs,
+ * or as many as the requested page reaches, and the embedding side its top
+ * {@code candidates}; the lists are merged with weighted reciprocal rank
+ * fusion, which needs no score normalization between the two signals. Jobs
+ * found only by embedding are kept when their similarity reaches
+ * {@code app.search.hybrid.vector-only-min-score}, so a query nothing matches
+ * lexically does not come back with a page of loosely related jobs. Query
+ * embeddings go through {@link EmbeddingService} and so are served from the
+ * embedding cache for repeated queries. If the query cannot be embedded the
+ * text ranking is returned on its own. When the text side finds too few jobs
+ * its query is spelling-corrected by {@link FuzzyQueryService} before fusion.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HybridSearchService {
+
+    private final MongoTemplate mongoTemplate;
+    private final EmbeddingService embeddingService;
+    private final JobEmbeddingIndex jobEmbeddingIndex;
+    private final JobTextIndex jobTextIndex;
+    private final FuzzyQueryService fuzzyQueryService;
+
+    @Value("${app.search.backend:mongo}")
+    private String searchBackend;
+
+    @Value("${app.search.hybrid.candidates:100}")
+    private int candidates;
+
+    @Value("${app.search.hybrid.rrf-k:60}")
+    private int rrfK;
+
+    @Value("${app.search.hybrid.text-weight:1.0}")
+    private double textWeight;
+
+    @Value("${app.search.hybrid.vector-weight:1.0}")
+    private double vectorWeight;
+
+    @Value("${app.search.hybrid.vector-only-min-score:0.8}")
+    private double vectorOnlyMinScore;
+
+    @Value("${app.search.text.count-limit:10000}")
+    private int countLimit;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder textOnly = new LongAdder();
+    private final LongAdder vectorOnly = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Ranked job ids, best first, covering at least the first {@code depth}
+     * positions when there are that many, and the number of jobs matching in
+     * all: the text matches, capped like text search totals, plus the jobs
+     * found only by embedding. {@code totalCapped} is set when the text count
+     * stopped at the cap, making {@code total} a lower bound.
+     */
+    public record Ranking(List<String> ids, long total, boolean totalCapped) {
+    }
+
+    private record TextCandidates(List<String> ids, long total, boolean capped) {
+    }
+
+    public Ranking rank(String searchText, int depth) {
+        long start = System.nanoTime();
+        queries.increment();
+        int textLimit = Math.max(candidates, depth);
+
+        TextCandidates text = textCandidates(searchText, textLimit);
+        if (fuzzyQueryService.tooFewHits(text.total())) {
+            // Corrected before fusing, so a typo is judged by what the text side finds alone
+            String corrected = fuzzyQueryService.correct(searchText);
+            if (corrected != null) {
+                TextCandidates correctedText = textCandidates(corrected, textLimit);
+                if (correctedText.total() > text.total()) {
+                    text = correctedText;
+                }
+            }
+        }
+
+        List<VectorIndex.Hit> vectorHits = List.of();
+        EmbeddingVector queryEmbedding = EmbeddingVector.of(embeddingService.generateEmbedding(searchText));
+        if (queryEmbedding != null) {
+            vectorHits = jobEmbeddingIndex.search(queryEmbedding.values(), embeddingService.getModel(), candidates);
+        } else {
+            textOnly.increment();
+        }
+
+        Map<String, Double> fused = new HashMap<>();
+        for (int rank = 0; rank < text.ids().size(); rank++) {
+            fused.merge(text.ids().get(rank), textWeight / (rrfK + rank + 1), Double::sum);
+        }
+        Set<String> textIds = new HashSet<>(text.ids());
+        long vectorOnlyHits = 0;
+        for (int rank = 0; rank < vectorHits.size(); rank++) {
+            VectorIndex.Hit hit = vectorHits.get(rank);
+            boolean textMatch = textIds.contains(hit.id());
+            if (!textMatch && hit.score() < vectorOnlyMinScore) {
+                continue;
+            }
+            if (!textMatch) {
+                vectorOnlyHits++;
+            }
+            fused.merge(hit.id(), vectorWeight / (rrfK + rank + 1), Double::sum);
+        }
+        vectorOnly.add(vectorOnlyHits);
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(fused.entrySet());
+        ranked.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        List<String> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<String, Double> entry : ranked) {
+            ids.add(entry.getKey());
+        }
+
+        totalNanos.add(System.nanoTime() - start);
+        return new Ranking(ids, text.total() + vectorOnlyHits, text.capped());
+    }
+
+    public Map<String, Object> getStats() {
+        long count = queries.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queries", count);
+        stats.put("textOnlyFallbacks", textOnly.sum());
+        stats.put("vectorOnlyHits", vectorOnly.sum());
+        stats.put("avgLatencyMs", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count);
+        return stats;
+    }
+
+    private TextCandidates textCandidates(String searchText, int limit) {
+        List<String> ids = new ArrayList<>();
+        if ("bm25".equalsIgnoreCase(searchBackend)) {
+            Bm25Index.Result result = jobTextIndex.search(searchText, 0, limit);
+            for (Bm25Index.Hit hit : result.hits()) {
+                ids.add(hit.id());
+            }
+            return new TextCandidates(ids, result.totalMatches(), false);
+        }
+
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(searchText)).sortByScore();
+        query.addCriteria(Criteria.where("status").is("active"));
+        query.fields().include("_id");
+        query.limit(limit);
+        for (Job job : mongoTemplate.find(query, Job.class)) {
+            ids.add(job.getId());
+        }
+        if (ids.size() < limit) {
+            return new TextCandidates(ids, ids.size(), false);
+        }
+        // Counted the way text search totals are, stopping at the count limit
+        Query count = new Query(TextCriteria.forDefaultLanguage().matching(searchText))
+                .addCriteria(Criteria.where("status").is("active"))
+                .limit(countLimit);
+        long total = mongoTemplate.count(count, Job.class);
+        return new TextCandidates(ids, Math.max(ids.size(), total), total >= countLimit);
+    }
+}
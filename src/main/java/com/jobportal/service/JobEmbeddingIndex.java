@@ -0,0 +1,600 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.Job;
+import com.jobportal.exception.JobPortalException;
+import com.jobportal.repository.EmbeddingBackfillStateRepository;
+import com.jobportal.util.AttributeBitmaps;
+import com.jobportal.util.TwoStageVectorIndex;
+import com.jobportal.util.VectorIndex;
+import com.jobportal.util.VectorKernels;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Resident index of active job embeddings used by {@link MatchService}.
+ *
+ * Loaded at startup, from a local snapshot when one is configured and present,
+ * then kept current by {@link JobServiceImpl} on every write and by a periodic
+ * delta sync that picks up changes made on other nodes. Every change to the
+ * indexed set moves {@link #getVersion()} on, which lets callers cache results
+ * computed against it.
+ *
+ * Alongside the vectors it keeps {@link AttributeBitmaps} over location, job
+ * type, category, experience level and salary, so a {@link Filter filtered}
+ * search intersects bitsets first and only scores the jobs that survive.
+ * Jobs whose re-embed is pending or failed are left out until it succeeds.
+ *
+ * Vectors from different embedding models are never mixed in one index. When
+ * jobs still carry vectors of an earlier model at startup, those stay in the
+ * live index while vectors of the configured model fill a second index on the
+ * side; each query goes to the index holding its own model, and the
+ * {@link EmbeddingBackfillService} swaps the side index in once every job is
+ * re-embedded.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JobEmbeddingIndex {
+
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private static final String LOCATION = "location";
+    private static final String JOB_TYPE = "jobType";
+    private static final String CATEGORY = "category";
+    private static final String EXPERIENCE_LEVEL = "experienceLevel";
+
+    /**
+     * Job fields read when (re-)indexing a job; queries feeding {@link #upsert(Job)} must include them.
+     */
+    public static final String[] INDEXED_FIELDS = {
+            "embedding", "embeddingModel", "embeddingStatus", "status", LOCATION, JOB_TYPE, CATEGORY, EXPERIENCE_LEVEL, "salaryMin", "salaryMax"};
+
+    private final MongoTemplate mongoTemplate;
+    private final VectorIndexFactory vectorIndexFactory;
+    private final EmbeddingProjectionService embeddingProjectionService;
+    private final EmbeddingService embeddingService;
+    private final EmbeddingBackfillStateRepository embeddingBackfillStateRepository;
+
+    @Value("${app.matching.index.snapshot-path:}")
+    private String snapshotPath;
+
+    @Value("${app.matching.index.salary-bands:0,25000,50000,75000,100000,150000,200000,300000}")
+    private double[] salaryBands;
+
+    private volatile VectorIndex index;
+
+    // Vectors of the configured model, collected while the live index still holds an earlier model's
+    private volatile ModelChange modelChange;
+
+    private AttributeBitmaps attributes;
+
+    // Ids written while a refit builds its replacement index, replayed into it once swapped in
+    private volatile Set<String> refitWrites;
+
+    private volatile LocalDateTime lastSyncedAt;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder dimensionMismatches = new LongAdder();
+    private final LongAdder otherModelJobs = new LongAdder();
+    private final LongAdder queryMismatches = new LongAdder();
+
+    private record ModelChange(String model, VectorIndex index) {
+    }
+
+    @PostConstruct
+    void init() {
+        index = vectorIndexFactory.create();
+        attributes = new AttributeBitmaps(salaryBands);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        String model = embeddingService.getModel();
+        boolean changing = modelChangePending(model);
+
+        if (!changing && restoreSnapshot(model)) {
+            // Attributes are not part of the snapshot; they are small enough to read back without the vectors
+            loadAttributes();
+            // Catch up on everything written since the snapshot was taken
+            refresh();
+            log.info("Restored {} job embeddings from snapshot in {}ms", index.size(), System.currentTimeMillis() - start);
+            return;
+        }
+
+        LocalDateTime syncStart = LocalDateTime.now();
+        Query query = new Query(changing ? activeWithEmbedding() : activeWithEmbedding().and("embeddingModel").in(null, model));
+        query.fields().include(INDEXED_FIELDS);
+
+        index.clear();
+        attributes.clear();
+        // Set first, so upserts already route each job by the model of its vector
+        modelChange = changing ? new ModelChange(model, vectorIndexFactory.create()) : null;
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            jobs.forEach(this::upsert);
+        }
+        lastSyncedAt = syncStart;
+        version.incrementAndGet();
+
+        if (changing) {
+            log.info("Loaded {} job embeddings of earlier models into {} match index and {} of {} on the side "
+                            + "until the embedding backfill completes, in {}ms", index.size(), vectorIndexFactory.getType(),
+                    modelChange.index().size(), model, System.currentTimeMillis() - start);
+            return;
+        }
+        log.info("Loaded {} job embeddings into {} match index in {}ms", index.size(), vectorIndexFactory.getType(),
+                System.currentTimeMillis() - start);
+        long stale = mongoTemplate.count(new Query(activeWithEmbedding().and("embeddingModel").nin(null, model)), Job.class);
+        if (stale > 0) {
+            log.warn("{} active jobs are embedded by a model other than {} and are left out of matching until re-embedded",
+                    stale, model);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.matching.index.refresh-interval-ms:60000}",
+            initialDelayString = "${app.matching.index.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (lastSyncedAt == null) {
+            return;
+        }
+        LocalDateTime syncStart = LocalDateTime.now();
+
+        Query query = new Query(Criteria.where("updatedAt").gte(lastSyncedAt));
+        query.fields().include(INDEXED_FIELDS);
+
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            jobs.forEach(this::upsert);
+        }
+        lastSyncedAt = syncStart;
+    }
+
+    @Scheduled(fixedDelayString = "${app.matching.index.snapshot-interval-ms:600000}",
+            initialDelayString = "${app.matching.index.snapshot-interval-ms:600000}")
+    public void scheduledSnapshot() {
+        writeSnapshot();
+    }
+
+    @PreDestroy
+    public void writeSnapshot() {
+        // The side index of a model change is not persisted; a restart rebuilds both from Mongo
+        if (snapshotPath == null || snapshotPath.isBlank() || lastSyncedAt == null || modelChange != null) {
+            return;
+        }
+        Path target = Paths.get(snapshotPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        LocalDateTime syncedAt = lastSyncedAt;
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeUTF(vectorIndexFactory.getType());
+                out.writeUTF(embeddingService.getModel());
+                out.writeLong(syncedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                index.writeSnapshot(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote job embedding index snapshot with {} entries to {}", index.size(), target);
+        } catch (IOException e) {
+            log.warn("Failed to write job embedding index snapshot: {}", e.getMessage());
+        }
+    }
+
+    public void upsert(Job job) {
+        if (job == null || job.getId() == null) {
+            return;
+        }
+        // A vector still awaiting its re-embed describes text the job no longer has
+        boolean current = job.getEmbeddingStatus() == null
+                || EmbeddingQueueService.EMBEDDING_READY.equals(job.getEmbeddingStatus());
+        float[] vector = "active".equals(job.getStatus()) && job.getEmbedding() != null && current
+                ? VectorKernels.normalize(job.getEmbedding().values())
+                : null;
+        if (vector == null) {
+            remove(job.getId());
+            return;
+        }
+        recordRefitWrite(job.getId());
+        String model = job.getEmbeddingModel();
+        ModelChange change = modelChange;
+        VectorIndex target = index;
+        if (change != null) {
+            // The job keeps its earlier vector in the live index until the side index is swapped in
+            if (change.model().equals(model)) {
+                target = change.index();
+            } else {
+                change.index().remove(job.getId());
+            }
+        } else if (model != null && !model.equals(embeddingService.getModel())) {
+            otherModelJobs.increment();
+            log.warn("Removing job {} from matching: embedded by {} rather than {}", job.getId(), model,
+                    embeddingService.getModel());
+            remove(job.getId());
+            return;
+        }
+        try {
+            target.upsert(job.getId(), vector);
+            attributes.put(job.getId(), attributesOf(job), salaryOf(job));
+            version.incrementAndGet();
+        } catch (IllegalArgumentException e) {
+            // Keeping the previous vector would go on matching the job by text it no longer has
+            dimensionMismatches.increment();
+            log.warn("Removing job {} from matching: its {} embedding does not fit the index: {}", job.getId(), model,
+                    e.getMessage());
+            if (target.remove(job.getId())) {
+                version.incrementAndGet();
+            }
+        }
+    }
+
+    public void remove(String jobId) {
+        recordRefitWrite(jobId);
+        attributes.remove(jobId);
+        ModelChange change = modelChange;
+        boolean removed = index.remove(jobId);
+        if (change != null) {
+            removed |= change.index().remove(jobId);
+        }
+        if (removed) {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Whether vectors made by {@code model} can be matched. Outside a model
+     * change that is the configured model, or one never recorded; during a
+     * change earlier models are matched against the live index and the
+     * configured one against the side index.
+     */
+    public boolean serves(String model) {
+        return modelChange != null || model == null || model.equals(embeddingService.getModel());
+    }
+
+    /**
+     * Top {@code limit} jobs for a query vector made by {@code model}.
+     *
+     * @throws JobPortalException if the vector's dimension differs from the indexed ones
+     */
+    public List<VectorIndex.Hit> search(float[] embedding, String model, int limit) {
+        return search(embedding, model, limit, Filter.NONE);
+    }
+
+    public List<VectorIndex.Hit> search(float[] embedding, String model, int limit, Filter filter) {
+        float[] query = embedding != null ? VectorKernels.normalize(embedding) : null;
+        if (query == null) {
+            return List.of();
+        }
+        VectorIndex target = indexFor(model);
+        if (target.size() > 0 && target.dimension() != query.length) {
+            queryMismatches.increment();
+            throw new JobPortalException("Embedding has " + query.length + " dimensions but the match index holds "
+                    + target.dimension() + "; it needs to be re-embedded with " + embeddingService.getModel());
+        }
+        if (filter == null || filter.isEmpty()) {
+            return target.search(query, limit);
+        }
+        List<String> allowed = attributes.match(Map.of(
+                LOCATION, filter.locations(),
+                JOB_TYPE, filter.jobTypes(),
+                CATEGORY, filter.categories(),
+                EXPERIENCE_LEVEL, filter.experienceLevels()), filter.minSalary());
+        return allowed.isEmpty() ? List.of() : target.searchAmong(query, limit, allowed);
+    }
+
+    /**
+     * Re-scores {@code jobIds} by max-sim: each job's score is its best dot
+     * product with any of {@code chunkEmbeddings}. Returns the top
+     * {@code limit}, best first.
+     */
+    public List<VectorIndex.Hit> rerankMaxSim(List<float[]> chunkEmbeddings, String model, List<String> jobIds, int limit) {
+        VectorIndex target = indexFor(model);
+        Map<String, Float> best = new HashMap<>();
+        for (float[] chunk : chunkEmbeddings) {
+            float[] query = VectorKernels.normalize(chunk);
+            if (query == null) {
+                continue;
+            }
+            for (VectorIndex.Hit hit : target.searchAmong(query, jobIds.size(), jobIds)) {
+                best.merge(hit.id(), hit.score(), Math::max);
+            }
+        }
+        return best.entrySet().stream()
+                .sorted(Map.Entry.<String, Float>comparingByValue().reversed())
+                .limit(limit)
+                .map(entry -> new VectorIndex.Hit(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Swaps in the index filled on the side with the configured model's
+     * vectors, once the embedding backfill has re-embedded every job. Jobs it
+     * could not re-embed drop out of matching rather than keep an earlier
+     * model's vector.
+     */
+    public synchronized void completeModelChange() {
+        ModelChange change = modelChange;
+        if (change == null) {
+            return;
+        }
+        int replaced = index.size();
+        index = change.index();
+        modelChange = null;
+        version.incrementAndGet();
+        log.info("Switched the match index to {} with {} job embeddings, replacing {} of earlier models",
+                change.model(), index.size(), replaced);
+    }
+
+    /**
+     * Fits a new projection for the two-stage index from the current job
+     * embeddings and rebuilds the index with it. The rebuild fills a fresh
+     * index on the side while matching keeps using the current one, then
+     * swaps it in whole.
+     */
+    public synchronized void refitProjection() {
+        if (!(index instanceof TwoStageVectorIndex)) {
+            throw new JobPortalException("Projections are only used by the two-stage match index");
+        }
+        if (modelChange != null) {
+            throw new JobPortalException("Jobs are still being re-embedded with a new model; refit once the backfill completes");
+        }
+        if (index.dimension() == 0) {
+            throw new JobPortalException("No job embeddings are indexed yet");
+        }
+        long start = System.currentTimeMillis();
+        embeddingProjectionService.fit(index.dimension());
+
+        Set<String> writes = ConcurrentHashMap.newKeySet();
+        refitWrites = writes;
+        try {
+            Query query = new Query(activeWithEmbedding().and("embeddingModel").in(null, embeddingService.getModel())
+                    .and("embeddingStatus").nin(EmbeddingQueueService.EMBEDDING_PENDING, EmbeddingQueueService.EMBEDDING_FAILED));
+            query.fields().include("embedding");
+            VectorIndex fresh = vectorIndexFactory.create();
+            try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+                jobs.forEach(job -> {
+                    float[] vector = job.getEmbedding() != null ? VectorKernels.normalize(job.getEmbedding().values()) : null;
+                    if (vector != null) {
+                        try {
+                            fresh.upsert(job.getId(), vector);
+                        } catch (IllegalArgumentException e) {
+                            dimensionMismatches.increment();
+                            log.warn("Leaving job {} out of the rebuilt index: {}", job.getId(), e.getMessage());
+                        }
+                    }
+                });
+            }
+            index = fresh;
+            refitWrites = null;
+
+            // Jobs written while the fresh index was filling only reached the old one; re-read them
+            if (!writes.isEmpty()) {
+                Query written = new Query(Criteria.where("_id").in(writes));
+                written.fields().include(INDEXED_FIELDS);
+                Set<String> missing = new HashSet<>(writes);
+                for (Job job : mongoTemplate.find(written, Job.class)) {
+                    missing.remove(job.getId());
+                    upsert(job);
+                }
+                missing.forEach(this::remove);
+            }
+            version.incrementAndGet();
+        } finally {
+            refitWrites = null;
+        }
+        log.info("Rebuilt {} job embeddings with a refitted projection in {}ms", index.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public Map<String, Object> getStats() {
+        ModelChange change = modelChange;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("model", embeddingService.getModel());
+        stats.put("dimension", index.dimension());
+        stats.put("modelChangeInProgress", change != null);
+        stats.put("sideIndexSize", change != null ? change.index().size() : 0);
+        stats.put("dimensionMismatches", dimensionMismatches.sum());
+        stats.put("otherModelJobs", otherModelJobs.sum());
+        stats.put("queryMismatches", queryMismatches.sum());
+        return stats;
+    }
+
+    private VectorIndex indexFor(String model) {
+        ModelChange change = modelChange;
+        return change != null && change.model().equals(model) ? change.index() : index;
+    }
+
+    /**
+     * True while active jobs still carry an earlier model's vectors, unless
+     * a backfill to {@code model} already finished and only left behind the
+     * jobs it failed to re-embed.
+     */
+    private boolean modelChangePending(String model) {
+        if (!mongoTemplate.exists(new Query(activeWithEmbedding().and("embeddingModel").nin(null, model)), Job.class)) {
+            return false;
+        }
+        return embeddingBackfillStateRepository.findById("jobs")
+                .map(state -> !(model.equals(state.getModel()) && EmbeddingBackfillService.STATUS_COMPLETED.equals(state.getStatus())))
+                .orElse(true);
+    }
+
+    private static Criteria activeWithEmbedding() {
+        return Criteria.where("status").is("active").and("embedding").exists(true);
+    }
+
+    private void recordRefitWrite(String jobId) {
+        Set<String> writes = refitWrites;
+        if (writes != null) {
+            writes.add(jobId);
+        }
+    }
+
+    private void loadAttributes() {
+        Query query = new Query(activeWithEmbedding());
+        query.fields().include(LOCATION, JOB_TYPE, CATEGORY, EXPERIENCE_LEVEL, "salaryMin", "salaryMax");
+        attributes.clear();
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            jobs.forEach(job -> attributes.put(job.getId(), attributesOf(job), salaryOf(job)));
+        }
+    }
+
+    private static Map<String, Set<String>> attributesOf(Job job) {
+        Map<String, Set<String>> values = new HashMap<>();
+        values.put(LOCATION, locationKeys(job.getLocation()));
+        values.put(JOB_TYPE, keySet(job.getJobType()));
+        values.put(CATEGORY, keySet(job.getCategory()));
+        values.put(EXPERIENCE_LEVEL, keySet(job.getExperienceLevel()));
+        return values;
+    }
+
+    // "Austin, TX" is found by "austin, tx", "austin" and "tx"
+    private static Set<String> locationKeys(String location) {
+        String full = normalize(location);
+        if (full == null) {
+            return Set.of();
+        }
+        Set<String> keys = new HashSet<>();
+        keys.add(full);
+        for (String part : full.split(",")) {
+            String key = part.trim();
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static Set<String> keySet(String value) {
+        String key = normalize(value);
+        return key != null ? Set.of(key) : Set.of();
+    }
+
+    private static double salaryOf(Job job) {
+        Double salary = job.getSalaryMax() != null ? job.getSalaryMax() : job.getSalaryMin();
+        return salary != null ? salary : Double.NaN;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Attribute filter for a match request. Values within one attribute are
+     * alternatives, attributes are combined with AND, and an empty set leaves
+     * that attribute unrestricted. {@code minSalary} keeps jobs whose top of
+     * range (or minimum, when no top is given) reaches it.
+     */
+    public record Filter(Set<String> locations, Set<String> jobTypes, Set<String> categories,
+                         Set<String> experienceLevels, Double minSalary) {
+
+        public static final Filter NONE = new Filter(Set.of(), Set.of(), Set.of(), Set.of(), null);
+
+        public static Filter of(Collection<String> locations, Collection<String> jobTypes, Collection<String> categories,
+                                Collection<String> experienceLevels, Double minSalary) {
+            return new Filter(normalizeAll(locations), normalizeAll(jobTypes), normalizeAll(categories),
+                    normalizeAll(experienceLevels), minSalary);
+        }
+
+        public boolean isEmpty() {
+            return locations.isEmpty() && jobTypes.isEmpty() && categories.isEmpty() && experienceLevels.isEmpty()
+                    && minSalary == null;
+        }
+
+        /**
+         * Stable textual form, independent of the order values were given in.
+         */
+        public String cacheKey() {
+            return String.join(",", new TreeSet<>(locations)) + "|" + String.join(",", new TreeSet<>(jobTypes))
+                    + "|" + String.join(",", new TreeSet<>(categories))
+                    + "|" + String.join(",", new TreeSet<>(experienceLevels)) + "|" + minSalary;
+        }
+
+        private static Set<String> normalizeAll(Collection<String> values) {
+            if (values == null) {
+                return Set.of();
+            }
+            Set<String> normalized = new HashSet<>();
+            for (String value : values) {
+                String key = normalize(value);
+                if (key != null) {
+                    normalized.add(key);
+                }
+            }
+            return Set.copyOf(normalized);
+        }
+    }
+
+    private boolean restoreSnapshot(String model) {
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return false;
+        }
+        Path source = Paths.get(snapshotPath);
+        if (!Files.exists(source)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != SNAPSHOT_VERSION || !vectorIndexFactory.getType().equals(in.readUTF())
+                    || !model.equals(in.readUTF())) {
+                log.info("Ignoring job embedding index snapshot written by a different index configuration or model");
+                return false;
+            }
+            LocalDateTime syncedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.systemDefault());
+            index.readSnapshot(in);
+            lastSyncedAt = syncedAt;
+            version.incrementAndGet();
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to restore job embedding index snapshot, rebuilding from Mongo: {}", e.getMessage());
+            index.clear();
+            return false;
+        }
+    }
+}
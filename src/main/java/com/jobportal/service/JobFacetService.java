@@ -0,0 +1,177 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.Job;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts of active jobs per location, job type, category, experience level
+ * and salary band for the job list filters, e.g. "Remote (412)".
+ *
+ * All five are computed by one {@code $facet} aggregation. A facet of a
+ * filtered attribute ignores its own filter, so the list keeps showing the
+ * alternatives to the value currently selected. Results are cached per filter
+ * for {@code app.search.facets.cache-ttl-ms}, and every job write made through
+ * this node drops them through {@link #invalidate()}.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobFacetService {
+
+    private static final String NO_SALARY = "unspecified";
+
+    private final MongoTemplate mongoTemplate;
+    private final JobQueryService jobQueryService;
+
+    @Value("${app.search.facets.cache-ttl-ms:30000}")
+    private long cacheTtlMs;
+
+    @Value("${app.search.facets.max-values:20}")
+    private int maxValues;
+
+    @Value("${app.search.facets.cache-max-entries:500}")
+    private int cacheMaxEntries;
+
+    @Value("${app.matching.index.salary-bands:0,25000,50000,75000,100000,150000,200000,300000}")
+    private double[] salaryBands;
+
+    private final Map<JobQueryService.Filter, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    public record FacetValue(String value, String label, long count) {
+    }
+
+    private record Entry(long version, long expiresAt, Map<String, List<FacetValue>> facets) {
+    }
+
+    public Map<String, List<FacetValue>> getFacets(JobQueryService.Filter filter) {
+        long now = System.currentTimeMillis();
+        long currentVersion = version.get();
+        Entry entry = cache.get(filter);
+        if (entry != null && entry.version() == currentVersion && entry.expiresAt() > now) {
+            hits.increment();
+            return entry.facets();
+        }
+        misses.increment();
+
+        long start = System.nanoTime();
+        Map<String, List<FacetValue>> facets = aggregate(filter);
+        totalNanos.add(System.nanoTime() - start);
+
+        if (cache.size() >= cacheMaxEntries) {
+            cache.clear();
+        }
+        cache.put(filter, new Entry(currentVersion, now + cacheTtlMs, facets));
+        return facets;
+    }
+
+    /**
+     * Drops all cached counts; called after every job write.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        long computed = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", computed);
+        stats.put("cachedFilters", cache.size());
+        stats.put("avgAggregationMs", computed == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / computed);
+        return stats;
+    }
+
+    private Map<String, List<FacetValue>> aggregate(JobQueryService.Filter filter) {
+        FacetOperation facets = Aggregation.facet(valueFacet(jobQueryService.criteria(
+                        new JobQueryService.Filter(null, filter.jobType(), filter.category())), "locationKey", "location"))
+                .as("location")
+                .and(valueFacet(jobQueryService.criteria(
+                        new JobQueryService.Filter(filter.location(), null, filter.category())), "jobTypeKey", "jobType"))
+                .as("jobType")
+                .and(valueFacet(jobQueryService.criteria(
+                        new JobQueryService.Filter(filter.location(), filter.jobType(), null)), "categoryKey", "category"))
+                .as("category")
+                .and(valueFacet(jobQueryService.criteria(filter), "experienceLevel", "experienceLevel"))
+                .as("experienceLevel")
+                .and(salaryFacet(jobQueryService.criteria(filter)))
+                .as("salary");
+
+        // The shared status match can use the index; each facet then narrows its own copy
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("status").is("active")), facets);
+        Document result = mongoTemplate.aggregate(aggregation, Job.class, Document.class).getUniqueMappedResult();
+
+        Map<String, List<FacetValue>> counts = new LinkedHashMap<>();
+        for (String facet : List.of("location", "jobType", "category", "experienceLevel", "salary")) {
+            List<FacetValue> values = new ArrayList<>();
+            if (result != null) {
+                for (Document bucket : result.getList(facet, Document.class, List.of())) {
+                    Object id = bucket.get("_id");
+                    String value = "salary".equals(facet) ? salaryBandKey(id) : String.valueOf(id);
+                    String label = "salary".equals(facet) ? value : String.valueOf(bucket.getOrDefault("label", value));
+                    values.add(new FacetValue(value, label, ((Number) bucket.get("count")).longValue()));
+                }
+            }
+            counts.put(facet, values);
+        }
+        return counts;
+    }
+
+    private AggregationOperation[] valueFacet(Criteria criteria, String keyField, String labelField) {
+        return new AggregationOperation[]{
+                Aggregation.match(criteria.and(keyField).ne(null)),
+                Aggregation.group(keyField).first(labelField).as("label").count().as("count"),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by(Sort.Direction.ASC, "_id"))),
+                Aggregation.limit(maxValues)};
+    }
+
+    // Bands follow the match index salary filter, on the top of range and the minimum when there is none
+    private AggregationOperation[] salaryFacet(Criteria criteria) {
+        Object[] boundaries = new Object[salaryBands.length + 1];
+        for (int i = 0; i < salaryBands.length; i++) {
+            boundaries[i] = salaryBands[i];
+        }
+        boundaries[salaryBands.length] = Double.MAX_VALUE;
+        return new AggregationOperation[]{
+                Aggregation.match(criteria),
+                Aggregation.bucket(ConditionalOperators.ifNull("salaryMax").thenValueOf("salaryMin"))
+                        .withBoundaries(boundaries)
+                        .withDefaultBucket(NO_SALARY)
+                        .andOutputCount().as("count")};
+    }
+
+    private String salaryBandKey(Object lowerBound) {
+        if (!(lowerBound instanceof Number number)) {
+            return NO_SALARY;
+        }
+        double floor = number.doubleValue();
+        for (int i = 0; i < salaryBands.length - 1; i++) {
+            if (salaryBands[i] == floor) {
+                return (long) floor + "-" + (long) salaryBands[i + 1];
+            }
+        }
+        return (long) floor + "+";
+    }
+}
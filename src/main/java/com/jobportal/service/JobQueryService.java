@@ -0,0 +1,176 @@
+package com.jobportal.service;
+
+import com.jobportal.dto.CursorPage;
+import com.jobportal.dto.SearchPage;
+import com.jobportal.entity.Job;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Filtered listing of active jobs, evaluated entirely in Mongo.
+ *
+ * Filters run against the lowercased {@code *Key} fields {@link Job} keeps
+ * next to location, job type and category: job type by equality, location
+ * and category by substring. Results come newest first, paged with
+ * skip/limit, without the embedding. Shared by the job listing API and the
+ * chat job search.
+ *
+ * Text search pages the same way, ordered by {@code $text} score and then
+ * recency. Its total is counted by Mongo but stops at
+ * {@code app.search.text.count-limit}, so a broad query never counts every
+ * matching job just to show "10,000+"; such a page says its total is capped.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JobQueryService {
+
+    private static final int MIGRATION_BATCH_SIZE = 500;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id"));
+
+    private final MongoTemplate mongoTemplate;
+    private final CursorPager cursorPager;
+
+    @Value("${app.search.text.count-limit:10000}")
+    private int countLimit;
+
+    public record Filter(String location, String jobType, String category) {
+    }
+
+    public Page<Job> findActiveJobs(Filter filter, Pageable pageable) {
+        Query query = new Query(criteria(filter));
+        query.fields().exclude("embedding");
+        query.with(pageable.getSortOr(NEWEST_FIRST));
+        if (pageable.isPaged()) {
+            query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+
+        List<Job> jobs = mongoTemplate.find(query, Job.class);
+        // The count is skipped when this page already shows where the results end
+        return PageableExecutionUtils.getPage(jobs, pageable,
+                () -> mongoTemplate.count(new Query(criteria(filter)), Job.class));
+    }
+
+    /**
+     * Keyset-paged form of {@link #findActiveJobs(Filter, Pageable)}, in the
+     * same order; the status/createdAt indexes serve every page alike.
+     */
+    public CursorPage<Job> findActiveJobs(Filter filter, String cursor, int size, boolean includeTotal) {
+        Query query = new Query(criteria(filter));
+        query.fields().exclude("embedding");
+        return cursorPager.page(query, Job.class, "createdAt", Job::getCreatedAt, Job::getId, cursor, size, includeTotal);
+    }
+
+    /**
+     * One page of active jobs matching {@code searchText}, best text score
+     * first and newest first among equal scores. The total is capped at
+     * {@code app.search.text.count-limit}, and flagged when it reached it.
+     */
+    public SearchPage<Job> searchActiveJobs(String searchText, Pageable pageable) {
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(searchText)).sortByScore();
+        query.addCriteria(Criteria.where("status").is("active"));
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        query.fields().exclude("embedding");
+        if (pageable.isPaged()) {
+            query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+
+        List<Job> jobs = mongoTemplate.find(query, Job.class);
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        // The count is skipped when this page already shows where the results end
+        if (pageable.isUnpaged() || (jobs.size() < pageable.getPageSize() && (!jobs.isEmpty() || offset == 0))) {
+            return new SearchPage<>(jobs, pageable, offset + jobs.size(), false);
+        }
+        Query count = new Query(TextCriteria.forDefaultLanguage().matching(searchText))
+                .addCriteria(Criteria.where("status").is("active"))
+                .limit(countLimit);
+        long total = mongoTemplate.count(count, Job.class);
+        return new SearchPage<>(jobs, pageable, total, total >= countLimit);
+    }
+
+    /**
+     * Fills in the filter keys of jobs written before they existed. Saves keep
+     * them current from then on, so this only has work to do once.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateSearchKeys() {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("location").ne(null).and("locationKey").exists(false),
+                Criteria.where("jobType").ne(null).and("jobTypeKey").exists(false),
+                Criteria.where("category").ne(null).and("categoryKey").exists(false)));
+        query.fields().include("location", "jobType", "category");
+
+        long migrated = 0;
+        List<Job> batch = new ArrayList<>(MIGRATION_BATCH_SIZE);
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            for (Job job : (Iterable<Job>) jobs::iterator) {
+                batch.add(job);
+                if (batch.size() == MIGRATION_BATCH_SIZE) {
+                    migrated += writeSearchKeys(batch);
+                    batch.clear();
+                }
+            }
+        }
+        migrated += writeSearchKeys(batch);
+        if (migrated > 0) {
+            log.info("Added search keys to {} jobs", migrated);
+        }
+    }
+
+    /**
+     * Active jobs matching {@code filter}; also the base of the facet counts.
+     */
+    Criteria criteria(Filter filter) {
+        Criteria criteria = Criteria.where("status").is("active");
+        String jobType = Job.searchKey(filter.jobType());
+        if (jobType != null) {
+            criteria.and("jobTypeKey").is(jobType);
+        }
+        String location = Job.searchKey(filter.location());
+        if (location != null) {
+            criteria.and("locationKey").regex(Pattern.quote(location));
+        }
+        String category = Job.searchKey(filter.category());
+        if (category != null) {
+            criteria.and("categoryKey").regex(Pattern.quote(category));
+        }
+        return criteria;
+    }
+
+    private int writeSearchKeys(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+        for (Job job : jobs) {
+            job.refreshSearchKeys();
+            // Targeted update so the projected-out fields are left alone
+            bulk.updateOne(Query.query(Criteria.where("_id").is(job.getId())), new Update()
+                    .set("locationKey", job.getLocationKey())
+                    .set("jobTypeKey", job.getJobTypeKey())
+                    .set("categoryKey", job.getCategoryKey()));
+        }
+        bulk.execute();
+        return jobs.size();
+    }
+}
@@ -1,11 +1,14 @@
 package com.jobportal.service;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.jobportal.dto.CursorPage;
 import com.jobportal.dto.JobDTO;
+import com.jobportal.dto.SearchPage;
 import com.jobportal.entity.User;
 
 public interface JobService {
@@ -14,9 +17,12 @@ public interface JobService {
 	void deleteJob(String jobId, User recruiter);
 	JobDTO getJobById(String jobId);
 	Page<JobDTO> getAllJobs(Pageable pageable);
+	CursorPage<JobDTO> getAllJobs(String location, String jobType, String category, String cursor, int size, boolean includeTotal);
 	Page<JobDTO> getJobsByRecruiter(User recruiter, Pageable pageable);
-	Page<JobDTO> searchJobs(String searchText, Pageable pageable);
+	CursorPage<JobDTO> getJobsByRecruiter(User recruiter, String cursor, int size, boolean includeTotal);
+	SearchPage<JobDTO> searchJobs(String searchText, String mode, Pageable pageable);
 	Page<JobDTO> filterJobs(String location, String jobType, String category, Pageable pageable);
 	List<JobDTO> getFeaturedJobs();
+	Map<String, List<JobFacetService.FacetValue>> getFacets(String location, String jobType, String category);
 }
 
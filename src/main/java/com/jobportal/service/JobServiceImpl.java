@@ -4,18 +4,27 @@ import com.jobportal.exception.JobPortalException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.jobportal.dto.CursorPage;
 import com.jobportal.dto.JobDTO;
+import com.jobportal.dto.SearchPage;
 import com.jobportal.entity.Job;
 import com.jobportal.entity.User;
 import com.jobportal.repository.JobRepository;
+import com.jobportal.util.Bm25Index;
 
 @Service
 public class JobServiceImpl implements JobService {
@@ -24,7 +33,40 @@ public class JobServiceImpl implements JobService {
 	private JobRepository jobRepository;
 
 	@Autowired
-	private EmbeddingService embeddingService;
+	private EmbeddingQueueService embeddingQueueService;
+
+	@Autowired
+	private JobEmbeddingIndex jobEmbeddingIndex;
+
+	@Autowired
+	private HybridSearchService hybridSearchService;
+
+	@Autowired
+	private JobQueryService jobQueryService;
+
+	@Autowired
+	private JobTextIndex jobTextIndex;
+
+	@Autowired
+	private JobFacetService jobFacetService;
+
+	@Autowired
+	private CursorPager cursorPager;
+
+	@Autowired
+	private FuzzyQueryService fuzzyQueryService;
+
+	@Autowired
+	private JobViewCounter jobViewCounter;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Value("${app.search.default-mode:text}")
+	private String defaultSearchMode;
+
+	@Value("${app.search.backend:mongo}")
+	private String searchBackend;
 
 	@Override
 	public JobDTO createJob(JobDTO jobDTO, User recruiter) {
@@ -53,11 +95,14 @@ public class JobServiceImpl implements JobService {
 		job.setCreatedAt(LocalDateTime.now());
 		job.setUpdatedAt(LocalDateTime.now());
 		
-		// Generate embedding for job search/match
-		String jobText = job.getTitle() + " " + job.getDescription() + " " + (job.getSkills() != null ? String.join(" ", job.getSkills()) : "");
-		job.setEmbedding(embeddingService.generateEmbedding(jobText));
+		// Embedded in the background; the job joins matching once its vector is ready
+		job.setEmbeddingStatus(EmbeddingQueueService.EMBEDDING_PENDING);
 		
 		job = jobRepository.save(job);
+		jobTextIndex.upsert(job);
+		jobFacetService.invalidate();
+		fuzzyQueryService.add(job);
+		embeddingQueueService.enqueue(job.getId());
 		return convertToDTO(job);
 	}
 
@@ -91,11 +136,51 @@ public class JobServiceImpl implements JobService {
 		job.setIsFeatured(jobDTO.getIsFeatured());
 		job.setUpdatedAt(LocalDateTime.now());
 		
-		// Regenerate embedding on update
-		String jobText = job.getTitle() + " " + job.getDescription() + " " + (job.getSkills() != null ? String.join(" ", job.getSkills()) : "");
-		job.setEmbedding(embeddingService.generateEmbedding(jobText));
+		// Only a change to the embedded text is re-embedded, in the background;
+		// until then the job is left out of matching rather than matched by its old text
+		boolean reembed = embeddingQueueService.needsEmbedding(job);
+		if (reembed) {
+			job.setEmbeddingStatus(EmbeddingQueueService.EMBEDDING_PENDING);
+		}
 		
-		job = jobRepository.save(job);
+		// Only the edited fields are written; counters such as views and applicationCount
+		// are maintained with $inc elsewhere and a full save would overwrite them
+		job.refreshSearchKeys();
+		Update update = new Update()
+				.set("title", job.getTitle())
+				.set("company", job.getCompany())
+				.set("companyLogo", job.getCompanyLogo())
+				.set("description", job.getDescription())
+				.set("requirements", job.getRequirements())
+				.set("responsibilities", job.getResponsibilities())
+				.set("location", job.getLocation())
+				.set("jobType", job.getJobType())
+				.set("experienceLevel", job.getExperienceLevel())
+				.set("salaryMin", job.getSalaryMin())
+				.set("salaryMax", job.getSalaryMax())
+				.set("salaryCurrency", job.getSalaryCurrency())
+				.set("category", job.getCategory())
+				.set("industry", job.getIndustry())
+				.set("skills", job.getSkills())
+				.set("status", job.getStatus())
+				.set("applicationDeadline", job.getApplicationDeadline())
+				.set("isFeatured", job.getIsFeatured())
+				.set("locationKey", job.getLocationKey())
+				.set("jobTypeKey", job.getJobTypeKey())
+				.set("categoryKey", job.getCategoryKey())
+				.set("updatedAt", job.getUpdatedAt());
+		if (reembed) {
+			update.set("embeddingStatus", job.getEmbeddingStatus());
+		}
+		mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(jobId)), update, Job.class);
+		// Drops the job from the match index while its embedding is pending
+		jobEmbeddingIndex.upsert(job);
+		jobTextIndex.upsert(job);
+		jobFacetService.invalidate();
+		fuzzyQueryService.add(job);
+		if (reembed) {
+			embeddingQueueService.enqueue(job.getId());
+		}
 		return convertToDTO(job);
 	}
 
@@ -110,18 +195,22 @@ public class JobServiceImpl implements JobService {
 		}
 		
 		jobRepository.delete(job);
+		jobEmbeddingIndex.remove(jobId);
+		jobTextIndex.remove(jobId);
+		jobFacetService.invalidate();
 	}
 
 	@Override
 	public JobDTO getJobById(String jobId) {
-		Job job = jobRepository.findById(jobId)
+		Job job = jobRepository.findListingById(jobId)
 				   .orElseThrow(() -> new JobPortalException("Job not found"));
 		
-		// Increment views
-		job.setViews(job.getViews() + 1);
-		jobRepository.save(job);
-		
-		return convertToDTO(job);
+		// Views are written behind in batches; show the stored count plus those still pending
+		jobViewCounter.record(jobId);
+		JobDTO dto = convertToDTO(job);
+		long stored = job.getViews() != null ? job.getViews() : 0;
+		dto.setViews((int) (stored + jobViewCounter.pendingViews(jobId)));
+		return dto;
 	}
 
 	@Override
@@ -130,6 +219,12 @@ public class JobServiceImpl implements JobService {
 		return jobs.map(this::convertToDTO);
 	}
 
+	@Override
+	public CursorPage<JobDTO> getAllJobs(String location, String jobType, String category, String cursor, int size, boolean includeTotal) {
+		CursorPage<Job> jobs = jobQueryService.findActiveJobs(new JobQueryService.Filter(location, jobType, category), cursor, size, includeTotal);
+		return jobs.map(this::convertToDTO);
+	}
+
 	@Override
 	public Page<JobDTO> getJobsByRecruiter(User recruiter, Pageable pageable) {
 		Page<Job> jobs = jobRepository.findByPostedBy(recruiter, pageable);
@@ -137,59 +232,96 @@ public class JobServiceImpl implements JobService {
 	}
 
 	@Override
-	public Page<JobDTO> searchJobs(String searchText, Pageable pageable) {
-		List<Job> jobs = jobRepository.searchJobs(searchText);
-		// Convert to page manually
+	public CursorPage<JobDTO> getJobsByRecruiter(User recruiter, String cursor, int size, boolean includeTotal) {
+		Query query = new Query(Criteria.where("postedBy").is(recruiter));
+		query.fields().exclude("embedding");
+		CursorPage<Job> jobs = cursorPager.page(query, Job.class, "createdAt", Job::getCreatedAt, Job::getId, cursor, size, includeTotal);
+		return jobs.map(this::convertToDTO);
+	}
+
+	@Override
+	public SearchPage<JobDTO> searchJobs(String searchText, String mode, Pageable pageable) {
+		String searchMode = mode != null && !mode.isBlank() ? mode : defaultSearchMode;
+		if ("hybrid".equalsIgnoreCase(searchMode)) {
+			// Spelling correction happens inside the ranking, on its text side
+			return hybridSearch(searchText, pageable);
+		}
+		if (!"text".equalsIgnoreCase(searchMode)) {
+			throw new JobPortalException("Unknown search mode: " + searchMode);
+		}
+
+		SearchPage<JobDTO> results = textSearch(searchText, pageable);
+		if (!fuzzyQueryService.tooFewHits(results.getTotalElements())) {
+			return results;
+		}
+
+		// Few hits often means a typo; retry once with the closest indexed spellings
+		String corrected = fuzzyQueryService.correct(searchText);
+		if (corrected == null) {
+			return results;
+		}
+		SearchPage<JobDTO> correctedResults = textSearch(corrected, pageable);
+		return correctedResults.getTotalElements() > results.getTotalElements() ? correctedResults : results;
+	}
+
+	private SearchPage<JobDTO> textSearch(String searchText, Pageable pageable) {
+		if ("bm25".equalsIgnoreCase(searchBackend)) {
+			return bm25Search(searchText, pageable);
+		}
+
+		SearchPage<Job> jobs = jobQueryService.searchActiveJobs(searchText, pageable);
+		return jobs.map(this::convertToDTO);
+	}
+
+	private SearchPage<JobDTO> hybridSearch(String searchText, Pageable pageable) {
+		// Fusion runs over a bounded candidate set; only the requested page is loaded
 		int start = (int) pageable.getOffset();
-		int end = Math.min((start + pageable.getPageSize()), jobs.size());
-		List<Job> pagedJobs = start < jobs.size() ? jobs.subList(start, end) : List.of();
-		
-		List<JobDTO> jobDTOs = pagedJobs.stream().map(this::convertToDTO).collect(Collectors.toList());
-		
-		return new PageImpl<>(jobDTOs, pageable, jobs.size());
+		HybridSearchService.Ranking ranking = hybridSearchService.rank(searchText, start + pageable.getPageSize());
+		List<String> rankedIds = ranking.ids();
+		start = Math.min(start, rankedIds.size());
+		int end = Math.min(start + pageable.getPageSize(), rankedIds.size());
+		List<String> pageIds = rankedIds.subList(start, end);
+
+		Map<String, Job> jobsById = jobRepository.findListingsByIdIn(pageIds).stream()
+				.collect(Collectors.toMap(Job::getId, Function.identity()));
+		List<JobDTO> jobDTOs = pageIds.stream()
+				.map(jobsById::get)
+				.filter(job -> job != null && "active".equals(job.getStatus()))
+				.map(this::convertToDTO)
+				.collect(Collectors.toList());
+
+		return new SearchPage<>(jobDTOs, pageable, ranking.total(), ranking.totalCapped());
+	}
+
+	private SearchPage<JobDTO> bm25Search(String searchText, Pageable pageable) {
+		Bm25Index.Result result = jobTextIndex.search(searchText, (int) pageable.getOffset(), pageable.getPageSize());
+		List<String> pageIds = result.hits().stream().map(Bm25Index.Hit::id).collect(Collectors.toList());
+
+		Map<String, Job> jobsById = jobRepository.findListingsByIdIn(pageIds).stream()
+				.collect(Collectors.toMap(Job::getId, Function.identity()));
+		// Jobs deleted or closed elsewhere since the last sync are dropped from the index as they surface
+		pageIds.stream()
+				.filter(id -> jobsById.get(id) == null || !"active".equals(jobsById.get(id).getStatus()))
+				.forEach(jobTextIndex::remove);
+		List<JobDTO> jobDTOs = pageIds.stream()
+				.map(jobsById::get)
+				.filter(job -> job != null && "active".equals(job.getStatus()))
+				.map(this::convertToDTO)
+				.collect(Collectors.toList());
+
+		// The in-memory index counts every match exactly
+		return new SearchPage<>(jobDTOs, pageable, result.totalMatches(), false);
 	}
 
 	@Override
 	public Page<JobDTO> filterJobs(String location, String jobType, String category, Pageable pageable) {
-		List<Job> allJobs = jobRepository.findByStatus("active");
-		
-		// Apply filters
-		List<Job> filteredJobs = allJobs.stream()
-				.filter(job -> {
-					// Location filter
-					if (location != null && !location.isEmpty()) {
-						if (job.getLocation() == null || !job.getLocation().toLowerCase().contains(location.toLowerCase())) {
-							return false;
-						}
-					}
-					// JobType filter
-					if (jobType != null && !jobType.isEmpty()) {
-						if (job.getJobType() == null || !job.getJobType().equalsIgnoreCase(jobType)) {
-							return false;
-						}
-					}
-					// Category filter
-					if (category != null && !category.isEmpty()) {
-						if (job.getCategory() == null || !job.getCategory().toLowerCase().contains(category.toLowerCase())) {
-							return false;
-						}
-					}
-					return true;
-				})
-				.sorted((a, b) -> {
-					if (a.getCreatedAt() == null || b.getCreatedAt() == null) return 0;
-					return b.getCreatedAt().compareTo(a.getCreatedAt());
-				})
-				.collect(Collectors.toList());
-		
-		// Manual pagination
-		int start = (int) pageable.getOffset();
-		int end = Math.min((start + pageable.getPageSize()), filteredJobs.size());
-		List<Job> pagedJobs = start < filteredJobs.size() ? filteredJobs.subList(start, end) : List.of();
-		
-		List<JobDTO> jobDTOs = pagedJobs.stream().map(this::convertToDTO).collect(Collectors.toList());
-		
-		return new PageImpl<>(jobDTOs, pageable, filteredJobs.size());
+		Page<Job> jobs = jobQueryService.findActiveJobs(new JobQueryService.Filter(location, jobType, category), pageable);
+		return jobs.map(this::convertToDTO);
+	}
+
+	@Override
+	public Map<String, List<JobFacetService.FacetValue>> getFacets(String location, String jobType, String category) {
+		return jobFacetService.getFacets(new JobQueryService.Filter(location, jobType, category));
 	}
 
 	@Override
@@ -225,6 +357,7 @@ public class JobServiceImpl implements JobService {
 		dto.setIsFeatured(job.getIsFeatured());
 		dto.setCreatedAt(job.getCreatedAt());
 		dto.setUpdatedAt(job.getUpdatedAt());
+		dto.setEmbeddingStatus(job.getEmbeddingStatus());
 		return dto;
 	}
 }
@@ -0,0 +1,293 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.Job;
+import com.jobportal.util.Bm25Index;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Resident BM25 index over the text of active jobs, the {@code bm25} backend
+ * of job text search ({@code app.search.backend}).
+ *
+ * Title, company, skills, requirements and description are indexed as
+ * separate fields with their own boosts. Like {@link JobEmbeddingIndex} it is
+ * loaded at startup, from a local snapshot when one is configured, kept
+ * current by {@link JobServiceImpl} and {@link AdminServiceImpl} on every
+ * write, and caught up with changes from other nodes by a periodic delta sync.
+ * The delta sync cannot see hard deletes, so a slower sweep drops indexed
+ * jobs that are no longer active in Mongo, also right after a snapshot is
+ * restored. With any other backend nothing is loaded and every method is a
+ * no-op.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JobTextIndex {
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final String[] FIELDS = {"title", "company", "skills", "requirements", "description"};
+
+    /**
+     * Job fields read when (re-)indexing a job; queries feeding {@link #upsert(Job)} must include them.
+     */
+    public static final String[] INDEXED_FIELDS = {
+            "title", "company", "skills", "requirements", "description", "status"};
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.search.backend:mongo}")
+    private String searchBackend;
+
+    @Value("${app.search.bm25.snapshot-path:}")
+    private String snapshotPath;
+
+    @Value("${app.search.bm25.k1:1.2}")
+    private float k1;
+
+    @Value("${app.search.bm25.b:0.75}")
+    private float b;
+
+    @Value("${app.search.bm25.boost.title:3.0}")
+    private float titleBoost;
+
+    @Value("${app.search.bm25.boost.company:1.5}")
+    private float companyBoost;
+
+    @Value("${app.search.bm25.boost.skills:2.0}")
+    private float skillsBoost;
+
+    @Value("${app.search.bm25.boost.requirements:1.0}")
+    private float requirementsBoost;
+
+    @Value("${app.search.bm25.boost.description:1.0}")
+    private float descriptionBoost;
+
+    private Bm25Index index;
+
+    private boolean enabled;
+
+    private volatile LocalDateTime lastSyncedAt;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        enabled = "bm25".equalsIgnoreCase(searchBackend);
+        index = new Bm25Index(FIELDS,
+                new float[]{titleBoost, companyBoost, skillsBoost, requirementsBoost, descriptionBoost}, k1, b);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+
+        if (restoreSnapshot()) {
+            refresh();
+            sweep();
+            log.info("Restored {} jobs into text index from snapshot in {}ms", index.size(),
+                    System.currentTimeMillis() - start);
+            return;
+        }
+
+        LocalDateTime syncStart = LocalDateTime.now();
+        Query query = new Query(Criteria.where("status").is("active"));
+        query.fields().include(INDEXED_FIELDS);
+
+        index.clear();
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            jobs.forEach(this::upsert);
+        }
+        lastSyncedAt = syncStart;
+
+        log.info("Loaded {} jobs into text index in {}ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.bm25.refresh-interval-ms:60000}",
+            initialDelayString = "${app.search.bm25.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (lastSyncedAt == null) {
+            return;
+        }
+        LocalDateTime syncStart = LocalDateTime.now();
+
+        Query query = new Query(Criteria.where("updatedAt").gte(lastSyncedAt));
+        query.fields().include(INDEXED_FIELDS);
+
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            jobs.forEach(this::upsert);
+        }
+        lastSyncedAt = syncStart;
+    }
+
+    /**
+     * Drops indexed jobs that are no longer active in Mongo, which catches the
+     * hard deletes the delta sync misses.
+     */
+    @Scheduled(fixedDelayString = "${app.search.bm25.sweep-interval-ms:600000}",
+            initialDelayString = "${app.search.bm25.sweep-interval-ms:600000}")
+    public void sweep() {
+        if (lastSyncedAt == null) {
+            return;
+        }
+        // Only ids indexed before the scan are candidates; a job is saved before it is indexed
+        List<String> indexed = index.ids();
+        Set<String> active = new HashSet<>();
+        Query query = new Query(Criteria.where("status").is("active"));
+        query.fields().include("_id");
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            jobs.forEach(job -> active.add(job.getId()));
+        }
+
+        int removed = 0;
+        for (String id : indexed) {
+            if (!active.contains(id) && index.remove(id)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("Dropped {} jobs no longer active from the text index", removed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.bm25.snapshot-interval-ms:600000}",
+            initialDelayString = "${app.search.bm25.snapshot-interval-ms:600000}")
+    public void scheduledSnapshot() {
+        writeSnapshot();
+    }
+
+    @PreDestroy
+    public void writeSnapshot() {
+        if (snapshotPath == null || snapshotPath.isBlank() || lastSyncedAt == null) {
+            return;
+        }
+        Path target = Paths.get(snapshotPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        LocalDateTime syncedAt = lastSyncedAt;
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(syncedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                index.writeSnapshot(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote job text index snapshot with {} entries to {}", index.size(), target);
+        } catch (IOException e) {
+            log.warn("Failed to write job text index snapshot: {}", e.getMessage());
+        }
+    }
+
+    public void upsert(Job job) {
+        if (!enabled || job == null || job.getId() == null) {
+            return;
+        }
+        if (!"active".equals(job.getStatus())) {
+            index.remove(job.getId());
+            return;
+        }
+        index.upsert(job.getId(), new String[]{
+                job.getTitle(),
+                job.getCompany(),
+                join(job.getSkills()),
+                join(job.getRequirements()),
+                job.getDescription()});
+    }
+
+    public void remove(String jobId) {
+        if (enabled) {
+            index.remove(jobId);
+        }
+    }
+
+    /**
+     * Ranks active jobs for {@code searchText}; see {@link Bm25Index#search}
+     * for the query syntax.
+     */
+    public Bm25Index.Result search(String searchText, int offset, int limit) {
+        long start = System.nanoTime();
+        queries.increment();
+        try {
+            return index.search(searchText, offset, limit);
+        } finally {
+            totalNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public Map<String, Object> getStats() {
+        long count = queries.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", index.size());
+        stats.put("queries", count);
+        stats.put("avgLatencyMs", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count);
+        return stats;
+    }
+
+    private static String join(List<String> values) {
+        return values == null ? null : String.join(", ", values);
+    }
+
+    private boolean restoreSnapshot() {
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return false;
+        }
+        Path source = Paths.get(snapshotPath);
+        if (!Files.exists(source)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                log.info("Ignoring job text index snapshot written by a different version");
+                return false;
+            }
+            LocalDateTime syncedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.systemDefault());
+            index.readSnapshot(in);
+            lastSyncedAt = syncedAt;
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to restore job text index snapshot, rebuilding from Mongo: {}", e.getMessage());
+            index.clear();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.Job;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind job view counts.
+ *
+ * A view only adds to an in-memory count for the job, so the job detail
+ * endpoint never writes to Mongo. Counts are added and taken with atomic
+ * per-key map operations, so a view recorded while a flush runs lands either
+ * in that flush or in the next one. Every
+ * {@code app.jobs.views.flush-interval-ms} the counts gathered since the last
+ * flush go out as one unordered bulk of {@code $inc} updates, which also
+ * leaves {@code updatedAt} and the rest of the document alone. A failed flush
+ * puts its counts back for the next one. Flushes run on a thread of their own
+ * rather than the shared scheduler, so index rebuilds and snapshots cannot
+ * hold them up; a crash loses the views of one interval plus the flush in
+ * flight.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JobViewCounter {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.jobs.views.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-view-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private volatile long lastFlushAt = System.currentTimeMillis();
+    private volatile long lastFlushMs;
+
+    public void record(String jobId) {
+        pending.merge(jobId, 1L, Long::sum);
+        recorded.increment();
+    }
+
+    /**
+     * Views of {@code jobId} not yet written to Mongo.
+     */
+    public long pendingViews(String jobId) {
+        return pending.getOrDefault(jobId, 0L);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(flushIntervalMs, TimeUnit.MILLISECONDS);
+        flush();
+    }
+
+    public synchronized void flush() {
+        long start = System.currentTimeMillis();
+        Map<String, Long> batch = new LinkedHashMap<>();
+        for (String jobId : pending.keySet()) {
+            Long views = pending.remove(jobId);
+            if (views != null) {
+                batch.put(jobId, views);
+            }
+        }
+        if (batch.isEmpty()) {
+            lastFlushAt = start;
+            return;
+        }
+
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+            batch.forEach((jobId, views) ->
+                    bulk.updateOne(Query.query(Criteria.where("_id").is(jobId)), new Update().inc("views", Math.toIntExact(views))));
+            bulk.execute();
+            flushed.add(batch.values().stream().mapToLong(Long::longValue).sum());
+            lastFlushAt = start;
+            lastFlushMs = System.currentTimeMillis() - start;
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            batch.forEach((jobId, views) -> pending.merge(jobId, views, Long::sum));
+            log.warn("Failed to flush {} job view counts, retrying next interval: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("recorded", recorded.sum());
+        stats.put("flushed", flushed.sum());
+        stats.put("pendingJobs", pending.size());
+        stats.put("failedFlushes", failedFlushes.sum());
+        stats.put("flushLagMs", System.currentTimeMillis() - lastFlushAt);
+        stats.put("lastFlushMs", lastFlushMs);
+        return stats;
+    }
+}
@@ -0,0 +1,84 @@
+package com.jobportal.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU of match results keyed by resume id, each entry tagged with the
+ * {@link JobEmbeddingIndex#getVersion() job index version} it was computed at.
+ * Any change to the set of matchable jobs moves the version on, so an entry is
+ * served only while it is still exactly what a fresh search would return.
+ */
+@Component
+public class MatchResultCache {
+
+    @Value("${app.matching.result-cache.max-entries:1000}")
+    private int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleMisses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private record Entry(long version, List<Map<String, Object>> results) {
+    }
+
+    public List<Map<String, Object>> get(String key, long version) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.version() != version) {
+                entries.remove(key);
+                staleMisses.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.results();
+    }
+
+    public void put(String key, long version, List<Map<String, Object>> results) {
+        synchronized (entries) {
+            entries.put(key, new Entry(version, List.copyOf(results)));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("staleMisses", staleMisses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRatio", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+        return stats;
+    }
+}
@@ -1,18 +1,21 @@
 package com.jobportal.service;
 
+import com.jobportal.entity.EmbeddingVector;
 import com.jobportal.entity.Job;
 import com.jobportal.entity.Resume;
 import com.jobportal.entity.User;
 import com.jobportal.repository.JobRepository;
 import com.jobportal.repository.ResumeRepository;
-import com.jobportal.util.CosineSimilarityUtil;
+import com.jobportal.util.VectorIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,35 +23,106 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MatchService {
 
+    private static final int MATCH_LIMIT = 10;
+
+    // Jobs shortlisted by the pooled resume vector before chunk-level re-ranking
+    private static final int MAX_SIM_CANDIDATES = 50;
+
     private final JobRepository jobRepository;
     private final ResumeRepository resumeRepository;
+    private final JobEmbeddingIndex jobEmbeddingIndex;
+    private final MatchResultCache matchResultCache;
+    private final EmbeddingService embeddingService;
 
     public List<Map<String, Object>> matchJobs(String resumeId, User user) {
+        return matchJobs(resumeId, user, JobEmbeddingIndex.Filter.NONE);
+    }
+
+    public List<Map<String, Object>> matchJobs(String resumeId, User user, JobEmbeddingIndex.Filter filter) {
         Resume resume = resumeRepository.findByIdAndUserId(resumeId, user)
                 .orElseThrow(() -> new RuntimeException("Resume not found"));
 
-        if (resume.getEmbedding() == null || resume.getEmbedding().isEmpty()) {
+        if (resume.getEmbedding() == null) {
             throw new RuntimeException("Resume has no embedding. Try uploading again.");
         }
+        if (!jobEmbeddingIndex.serves(resume.getEmbeddingModel())) {
+            reembed(resume);
+        }
+
+        // Read before searching, so a job change during the search leaves the entry stale
+        long indexVersion = jobEmbeddingIndex.getVersion();
+        String cacheKey = cacheKey(resume, filter);
+        List<Map<String, Object>> cached = matchResultCache.get(cacheKey, indexVersion);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<VectorIndex.Hit> hits;
+        if (resume.getChunkEmbeddings() == null || resume.getChunkEmbeddings().isEmpty()) {
+            hits = jobEmbeddingIndex.search(resume.getEmbedding().values(), resume.getEmbeddingModel(), MATCH_LIMIT, filter);
+        } else {
+            // Pooled vector for the first pass, best-matching resume section for the final order
+            List<VectorIndex.Hit> shortlist = jobEmbeddingIndex.search(
+                    resume.getEmbedding().values(), resume.getEmbeddingModel(), MAX_SIM_CANDIDATES, filter);
+            hits = jobEmbeddingIndex.rerankMaxSim(
+                    resume.getChunkEmbeddings().stream().map(EmbeddingVector::values).toList(), resume.getEmbeddingModel(),
+                    shortlist.stream().map(VectorIndex.Hit::id).toList(), MATCH_LIMIT);
+        }
+        if (hits.isEmpty()) {
+            matchResultCache.put(cacheKey, indexVersion, List.of());
+            return List.of();
+        }
+
+        // Only the top-K ids go to Mongo, and only for the fields we return
+        Map<String, Job> jobsById = jobRepository.findSummariesByIdIn(hits.stream().map(VectorIndex.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+
+        List<Map<String, Object>> results = new ArrayList<>(hits.size());
+        for (VectorIndex.Hit hit : hits) {
+            Job job = jobsById.get(hit.id());
+            if (job == null || !"active".equals(job.getStatus())) {
+                // Deleted or closed on another node since the last index sync
+                jobEmbeddingIndex.remove(hit.id());
+                continue;
+            }
+            double score = Math.round(hit.score() * 10000.0) / 100.0;
 
-        List<Job> activeJobs = jobRepository.findByStatus("active");
-
-        return activeJobs.stream()
-                .filter(job -> job.getEmbedding() != null && !job.getEmbedding().isEmpty())
-                .map(job -> {
-                    double similarity = CosineSimilarityUtil.calculate(resume.getEmbedding(), job.getEmbedding());
-                    double score = Math.round(similarity * 10000.0) / 100.0;
-                    
-                    return Map.of(
-                            "jobId", job.getId(),
-                            "title", job.getTitle(),
-                            "company", job.getCompany(),
-                            "location", job.getLocation(),
-                            "matchScore", score
-                    );
-                })
-                .sorted((a, b) -> Double.compare((double) b.get("matchScore"), (double) a.get("matchScore")))
-                .limit(10)
-                .collect(Collectors.toList());
+            Map<String, Object> match = new LinkedHashMap<>();
+            match.put("jobId", job.getId());
+            match.put("title", job.getTitle());
+            match.put("company", job.getCompany());
+            match.put("location", job.getLocation());
+            match.put("matchScore", score);
+            results.add(match);
+        }
+        matchResultCache.put(cacheKey, indexVersion, results);
+        return results;
+    }
+
+    /**
+     * Results depend on the resume's vector as much as on its id. A re-embed,
+     * whether by the backfill, another node or {@link #reembed}, changes the
+     * vector, so the key carries the model and a hash of the pooled vector
+     * (the mean of its chunks).
+     */
+    private static String cacheKey(Resume resume, JobEmbeddingIndex.Filter filter) {
+        String key = resume.getId() + "|" + resume.getEmbeddingModel() + "|"
+                + Integer.toHexString(resume.getEmbedding().hashCode());
+        return filter.isEmpty() ? key : key + "|" + filter.cacheKey();
+    }
+
+    // Embedded by a model the job index no longer holds; re-embed it like an upload instead of waiting for the backfill
+    private void reembed(Resume resume) {
+        EmbeddingService.ChunkedEmbedding embedding = resume.getText() == null || resume.getText().isEmpty()
+                ? null
+                : embeddingService.generateChunkedEmbedding(resume.getText());
+        if (embedding == null) {
+            throw new RuntimeException("Resume was embedded by a model no longer used for matching. Try uploading again.");
+        }
+        resume.setEmbedding(embedding.pooled());
+        resume.setChunkEmbeddings(embedding.chunks());
+        resume.setEmbeddingModel(embeddingService.getModel());
+        resumeRepository.save(resume);
     }
 }
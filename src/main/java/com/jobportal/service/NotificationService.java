@@ -5,12 +5,14 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.jobportal.dto.CursorPage;
 import com.jobportal.entity.Notification;
 import com.jobportal.entity.User;
 
 public interface NotificationService {
 	Notification createNotification(Notification notification);
 	Page<Notification> getNotificationsByUser(User user, Pageable pageable);
+	CursorPage<Notification> getNotificationsByUser(User user, String cursor, int size, boolean includeTotal);
 	List<Notification> getUnreadNotifications(User user);
 	long getUnreadCount(User user);
 	Notification markAsRead(String notificationId, User user);
@@ -8,8 +8,11 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import com.jobportal.dto.CursorPage;
 import com.jobportal.entity.Notification;
 import com.jobportal.entity.User;
 import com.jobportal.repository.NotificationRepository;
@@ -20,6 +23,9 @@ public class NotificationServiceImpl implements NotificationService {
 	@Autowired
 	private NotificationRepository notificationRepository;
 
+	@Autowired
+	private CursorPager cursorPager;
+
 	@Override
 	public Notification createNotification(Notification notification) {
 		notification.setCreatedAt(LocalDateTime.now());
@@ -32,6 +38,12 @@ public class NotificationServiceImpl implements NotificationService {
 		return notificationRepository.findByUserIdOrderByCreatedAtDesc(user, pageable);
 	}
 
+	@Override
+	public CursorPage<Notification> getNotificationsByUser(User user, String cursor, int size, boolean includeTotal) {
+		return cursorPager.page(new Query(Criteria.where("userId").is(user)), Notification.class, "createdAt",
+				Notification::getCreatedAt, Notification::getId, cursor, size, includeTotal);
+	}
+
 	@Override
 	public List<Notification> getUnreadNotifications(User user) {
 		return notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(user);
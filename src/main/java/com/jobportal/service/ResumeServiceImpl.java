@@ -36,6 +36,9 @@ public class ResumeServiceImpl implements ResumeService {
 	@Autowired
 	private EmbeddingService embeddingService;
 
+	@Autowired
+	private CandidateEmbeddingIndex candidateEmbeddingIndex;
+
 	@Override
 	public Resume uploadResume(MultipartFile file, String filename, Boolean isDefault, User user) {
 		try {
@@ -55,10 +58,10 @@ public class ResumeServiceImpl implements ResumeService {
 				extractedText = extractTextFromPdf(file);
 			}
 
-			// Generate embedding
-			List<Double> embedding = null;
+			// Embed in chunks so long resumes are neither truncated nor embedded in one slow call
+			EmbeddingService.ChunkedEmbedding embedding = null;
 			if (!extractedText.isEmpty()) {
-				embedding = embeddingService.generateEmbedding(extractedText);
+				embedding = embeddingService.generateChunkedEmbedding(extractedText);
 			}
 
 			// Create resume entity
@@ -70,7 +73,11 @@ public class ResumeServiceImpl implements ResumeService {
 			resume.setFileType(getFileExtension(file.getOriginalFilename()));
 			resume.setUploadedAt(LocalDateTime.now());
 			resume.setText(extractedText);
-			resume.setEmbedding(embedding);
+			if (embedding != null) {
+				resume.setEmbedding(embedding.pooled());
+				resume.setChunkEmbeddings(embedding.chunks());
+				resume.setEmbeddingModel(embeddingService.getModel());
+			}
 			
 			// If this is the first resume, set as default
 			if (resumeRepository.countByUserId(user) == 0) {
@@ -89,6 +96,9 @@ public class ResumeServiceImpl implements ResumeService {
 			}
 			
 			Resume saved = resumeRepository.save(resume);
+			if (saved.getIsDefault()) {
+				candidateEmbeddingIndex.upsert(saved);
+			}
 			log.info("Resume uploaded and embedded successfully for user: {} - File: {}", user.getEmail(), filename);
 			return saved;
 			
@@ -135,6 +145,7 @@ public class ResumeServiceImpl implements ResumeService {
 		
 		resume.setIsDefault(true);
 		Resume saved = resumeRepository.save(resume);
+		candidateEmbeddingIndex.upsert(saved);
 		log.info("Resume set as default for user: {} - Resume ID: {}", user.getEmail(), resumeId);
 		return saved;
 	}
@@ -164,7 +175,9 @@ public class ResumeServiceImpl implements ResumeService {
 			otherResumes.remove(resume);
 			if (!otherResumes.isEmpty()) {
 				otherResumes.get(0).setIsDefault(true);
-				resumeRepository.save(otherResumes.get(0));
+				candidateEmbeddingIndex.upsert(resumeRepository.save(otherResumes.get(0)));
+			} else {
+				candidateEmbeddingIndex.remove(user.getId());
 			}
 		}
 		
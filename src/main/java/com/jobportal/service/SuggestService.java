@@ -0,0 +1,147 @@
+package com.jobportal.service;
+
+import com.jobportal.entity.Company;
+import com.jobportal.entity.Job;
+import com.jobportal.entity.User;
+import com.jobportal.exception.JobPortalException;
+import com.jobportal.util.PrefixSuggester;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Search box completions for job titles, skills, companies and locations.
+ *
+ * One {@link PrefixSuggester} per kind is built from active jobs, company
+ * profiles and the skills on user profiles, and swapped in whole on every
+ * rebuild, so lookups never touch Mongo or wait on a lock. Weights are
+ * popularity: a title or location counts once per active job plus its
+ * applications, a skill once per job asking for it and once per user
+ * listing it, a company once per active job and once for its profile.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SuggestService {
+
+    public static final List<String> TYPES = List.of("title", "skill", "company", "location");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.suggest.max-results:10}")
+    private int maxResults;
+
+    private volatile Map<String, PrefixSuggester> suggesters = Map.of();
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private volatile long lastRebuildMs;
+
+    public record Suggestion(String text, String type, long weight) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.suggest.rebuild-interval-ms:300000}",
+            initialDelayString = "${app.suggest.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, PrefixSuggester.Builder> builders = new LinkedHashMap<>();
+        for (String type : TYPES) {
+            builders.put(type, new PrefixSuggester.Builder(maxResults));
+        }
+
+        Query jobs = new Query(Criteria.where("status").is("active"));
+        jobs.fields().include("title", "company", "location", "skills", "applicationCount");
+        try (Stream<Job> stream = mongoTemplate.stream(jobs, Job.class)) {
+            stream.forEach(job -> {
+                long popularity = 1 + (job.getApplicationCount() != null ? Math.max(0, job.getApplicationCount()) : 0);
+                builders.get("title").add(job.getTitle(), popularity);
+                builders.get("location").add(job.getLocation(), popularity);
+                builders.get("company").add(job.getCompany(), 1);
+                if (job.getSkills() != null) {
+                    job.getSkills().forEach(skill -> builders.get("skill").add(skill, 1));
+                }
+            });
+        }
+
+        Query companies = new Query();
+        companies.fields().include("companyName");
+        try (Stream<Company> stream = mongoTemplate.stream(companies, Company.class)) {
+            stream.forEach(company -> builders.get("company").add(company.getCompanyName(), 1));
+        }
+
+        Query users = new Query(Criteria.where("skills.0").exists(true));
+        users.fields().include("skills");
+        try (Stream<User> stream = mongoTemplate.stream(users, User.class)) {
+            stream.forEach(user -> user.getSkills().forEach(skill -> builders.get("skill").add(skill, 1)));
+        }
+
+        Map<String, PrefixSuggester> built = new LinkedHashMap<>();
+        builders.forEach((type, builder) -> built.put(type, builder.build()));
+        suggesters = built;
+        lastRebuildMs = System.currentTimeMillis() - start;
+        log.info("Rebuilt suggestions in {}ms: {}", lastRebuildMs, sizes(built));
+    }
+
+    /**
+     * Completions for {@code prefix}, heaviest first; of one kind when
+     * {@code type} is given, otherwise merged across all of them.
+     */
+    public List<Suggestion> suggest(String prefix, String type, int limit) {
+        long start = System.nanoTime();
+        queries.increment();
+        int capped = Math.max(0, Math.min(limit, maxResults));
+        Map<String, PrefixSuggester> current = suggesters;
+
+        List<Suggestion> results = new ArrayList<>();
+        if (type != null && !type.isBlank()) {
+            PrefixSuggester suggester = current.get(type);
+            if (suggester == null && !TYPES.contains(type)) {
+                throw new JobPortalException("Unknown suggestion type: " + type);
+            }
+            if (suggester != null) {
+                suggester.suggest(prefix, capped).forEach(s -> results.add(new Suggestion(s.text(), type, s.weight())));
+            }
+        } else {
+            current.forEach((kind, suggester) -> suggester.suggest(prefix, capped)
+                    .forEach(s -> results.add(new Suggestion(s.text(), kind, s.weight()))));
+            results.sort(Comparator.comparingLong(Suggestion::weight).reversed());
+            if (results.size() > capped) {
+                results.subList(capped, results.size()).clear();
+            }
+        }
+        totalNanos.add(System.nanoTime() - start);
+        return results;
+    }
+
+    public Map<String, Object> getStats() {
+        long count = queries.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", sizes(suggesters));
+        stats.put("queries", count);
+        stats.put("avgLatencyMicros", count == 0 ? 0.0 : totalNanos.sum() / 1_000.0 / count);
+        stats.put("lastRebuildMs", lastRebuildMs);
+        return stats;
+    }
+
+    private static Map<String, Integer> sizes(Map<String, PrefixSuggester> suggesters) {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        suggesters.forEach((type, suggester) -> sizes.put(type, suggester.size()));
+        return sizes;
+    }
+}
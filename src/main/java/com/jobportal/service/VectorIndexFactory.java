@@ -0,0 +1,88 @@
+package com.jobportal.service;
+
+import com.jobportal.util.FlatVectorIndex;
+import com.jobportal.util.HnswVectorIndex;
+import com.jobportal.util.TwoStageVectorIndex;
+import com.jobportal.util.VectorIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Builds the {@link VectorIndex} implementation selected by
+ * {@code app.matching.index.type}: {@code flat} for an exact scan,
+ * {@code hnsw} for approximate search tuned by the {@code hnsw.*} settings, or
+ * {@code two-stage} to shortlist on projected vectors and re-rank exactly.
+ * Flat indexes share one dedicated search pool, kept apart from the common
+ * pool so scoring cannot starve or be starved by unrelated parallel work.
+ */
+@Component
+@RequiredArgsConstructor
+public class VectorIndexFactory {
+
+    @Value("${app.matching.index.type:flat}")
+    private String type;
+
+    @Value("${app.matching.index.hnsw.m:16}")
+    private int m;
+
+    @Value("${app.matching.index.hnsw.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${app.matching.index.hnsw.ef-search:64}")
+    private int efSearch;
+
+    @Value("${app.matching.index.search-parallelism:0}")
+    private int searchParallelism;
+
+    @Value("${app.matching.index.partition-rows:4096}")
+    private int partitionRows;
+
+    @Value("${app.matching.index.two-stage.shortlist:300}")
+    private int shortlist;
+
+    private final EmbeddingProjectionService embeddingProjectionService;
+
+    private ForkJoinPool searchPool;
+
+    public synchronized VectorIndex create() {
+        return switch (type.toLowerCase()) {
+            case "flat" -> new FlatVectorIndex(searchPool(), partitionRows);
+            case "hnsw" -> new HnswVectorIndex(m, efConstruction, efSearch);
+            case "two-stage" -> new TwoStageVectorIndex(new FlatVectorIndex(searchPool(), partitionRows),
+                    new FlatVectorIndex(searchPool(), partitionRows), embeddingProjectionService::current, shortlist);
+            default -> throw new IllegalStateException("Unknown vector index type: " + type);
+        };
+    }
+
+    public String getType() {
+        return type.toLowerCase();
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (searchPool != null) {
+            searchPool.shutdown();
+        }
+    }
+
+    private ForkJoinPool searchPool() {
+        int parallelism = searchParallelism > 0 ? searchParallelism : Runtime.getRuntime().availableProcessors();
+        if (parallelism <= 1) {
+            return null;
+        }
+        if (searchPool == null) {
+            searchPool = new ForkJoinPool(parallelism, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("vector-search-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return searchPool;
+    }
+}
@@ -0,0 +1,233 @@
+package com.jobportal.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-value bitsets over a set of ids, used to narrow a vector search to the
+ * entries matching categorical filters before anything is scored.
+ *
+ * Every id owns a slot; each (attribute, value) pair keeps a {@link BitSet}
+ * with the bits of the slots carrying it. A filter ORs the bitsets of the
+ * wanted values within an attribute and ANDs across attributes, so its cost
+ * depends on the number of words in the bitsets, not on the entries behind
+ * them. One numeric attribute is bucketed into bands: band {@code i} holds
+ * every entry whose value is at least {@code bandFloors[i]}, and a minimum is
+ * answered from the closest band plus an exact check of the survivors.
+ *
+ * Slots freed by removal are reused so the bitsets stay dense.
+ */
+public class AttributeBitmaps {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final double[] bandFloors;
+    private final BitSet[] bands;
+    private final Map<String, Map<String, BitSet>> bitmaps = new HashMap<>();
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    private String[] ids = new String[0];
+    private double[] rangeValues = new double[0];
+    private List<String>[] valueKeys = newKeyArray(0);
+
+    /**
+     * @param bandFloors ascending lower bounds of the numeric bands
+     */
+    public AttributeBitmaps(double[] bandFloors) {
+        this.bandFloors = bandFloors.clone();
+        Arrays.sort(this.bandFloors);
+        this.bands = new BitSet[this.bandFloors.length];
+        for (int i = 0; i < bands.length; i++) {
+            bands[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Sets the attributes of {@code id}, replacing any it had.
+     *
+     * @param values     attribute name to the values the entry carries
+     * @param rangeValue value of the banded attribute, or NaN when unknown
+     */
+    public void put(String id, Map<String, ? extends Collection<String>> values, double rangeValue) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotsById.get(id);
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                clearSlot(slot);
+            } else {
+                slot = live.nextClearBit(0);
+                ensureCapacity(slot + 1);
+                slotsById.put(id, slot);
+                ids[slot] = id;
+                live.set(slot);
+            }
+
+            List<String> keys = new ArrayList<>();
+            for (Map.Entry<String, ? extends Collection<String>> attribute : values.entrySet()) {
+                if (attribute.getValue() == null) {
+                    continue;
+                }
+                Map<String, BitSet> byValue = bitmaps.computeIfAbsent(attribute.getKey(), k -> new HashMap<>());
+                for (String value : attribute.getValue()) {
+                    if (value != null) {
+                        byValue.computeIfAbsent(value, v -> new BitSet()).set(slot);
+                        keys.add(attribute.getKey());
+                        keys.add(value);
+                    }
+                }
+            }
+            valueKeys[slot] = keys;
+
+            rangeValues[slot] = rangeValue;
+            if (!Double.isNaN(rangeValue)) {
+                for (int i = 0; i < bandFloors.length && rangeValue >= bandFloors[i]; i++) {
+                    bands[i].set(slot);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot == null) {
+                return false;
+            }
+            clearSlot(slot);
+            ids[slot] = null;
+            live.clear(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            bitmaps.clear();
+            slotsById.clear();
+            live.clear();
+            for (BitSet band : bands) {
+                band.clear();
+            }
+            ids = new String[0];
+            rangeValues = new double[0];
+            valueKeys = newKeyArray(0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids matching every given attribute (any of its values) and,
+     * unless {@code minRange} is null, with a banded value of at least
+     * {@code minRange}. Attributes with a null or empty value set are ignored.
+     */
+    public List<String> match(Map<String, ? extends Collection<String>> anyOf, Double minRange) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) live.clone();
+            for (Map.Entry<String, ? extends Collection<String>> attribute : anyOf.entrySet()) {
+                if (attribute.getValue() == null || attribute.getValue().isEmpty()) {
+                    continue;
+                }
+                Map<String, BitSet> byValue = bitmaps.getOrDefault(attribute.getKey(), Map.of());
+                BitSet union = new BitSet();
+                for (String value : attribute.getValue()) {
+                    BitSet bits = byValue.get(value);
+                    if (bits != null) {
+                        union.or(bits);
+                    }
+                }
+                result.and(union);
+                if (result.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            boolean checkRange = false;
+            if (minRange != null) {
+                int band = Arrays.binarySearch(bandFloors, minRange);
+                if (band < 0) {
+                    // Closest band below the minimum; its members still need an exact check
+                    band = -band - 2;
+                    checkRange = true;
+                }
+                if (band >= 0) {
+                    result.and(bands[band]);
+                } else {
+                    checkRange = true;
+                }
+            }
+
+            List<String> matched = new ArrayList<>(result.cardinality());
+            for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                if (checkRange && !(rangeValues[slot] >= minRange)) {
+                    continue;
+                }
+                matched.add(ids[slot]);
+            }
+            return matched;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clearSlot(int slot) {
+        List<String> keys = valueKeys[slot];
+        if (keys != null) {
+            for (int i = 0; i < keys.size(); i += 2) {
+                Map<String, BitSet> byValue = bitmaps.get(keys.get(i));
+                BitSet bits = byValue.get(keys.get(i + 1));
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    byValue.remove(keys.get(i + 1));
+                }
+            }
+            valueKeys[slot] = null;
+        }
+        for (BitSet band : bands) {
+            band.clear(slot);
+        }
+        rangeValues[slot] = Double.NaN;
+    }
+
+    private void ensureCapacity(int slots) {
+        if (ids.length >= slots) {
+            return;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, Math.max(slots, ids.length + (ids.length >> 1)));
+        ids = Arrays.copyOf(ids, capacity);
+        rangeValues = Arrays.copyOf(rangeValues, capacity);
+        valueKeys = Arrays.copyOf(valueKeys, capacity);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<String>[] newKeyArray(int length) {
+        return (List<String>[]) new List[length];
+    }
+}
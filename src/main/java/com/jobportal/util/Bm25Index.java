@@ -0,0 +1,616 @@
+package com.jobportal.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over multi-field documents, ranked with BM25F:
+ * a term's frequency in each field is length-normalized against that field's
+ * average, weighted by the field's boost, summed, and saturated once with
+ * {@code k1}.
+ *
+ * Each term keeps one posting list shared by all fields, encoded as varints:
+ * the document delta, a bit mask of the fields the term occurs in, then per
+ * field the frequency and the position deltas. Documents get increasing
+ * ordinals that are never reused, so every write is an append and the deltas
+ * stay positive. Removal only clears the document's live bit; once dead
+ * documents outnumber live ones all lists are rewritten without them.
+ *
+ * Queries are bags of terms, any of which may match, plus optional quoted
+ * phrases, each of which must occur with consecutive positions in one field.
+ */
+public class Bm25Index {
+
+    private static final int SNAPSHOT_MAGIC = 0x424D3235; // "BM25"
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MIN_DEAD_FOR_COMPACTION = 1024;
+    private static final int MAX_FIELDS = 8;
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}][\\p{L}\\p{N}+#.]*");
+    private static final Pattern PHRASE = Pattern.compile("\"([^\"]+)\"");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "to", "with", "we", "you", "our", "your", "will");
+
+    private final String[] fields;
+    private final float[] boosts;
+    private final float k1;
+    private final float b;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinalsById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    private String[] ids = new String[0];
+    private int[] fieldLengths = new int[0]; // ordinal * fields.length + field
+    private final long[] totalFieldLengths;
+    private int nextOrdinal;
+
+    public record Hit(String id, float score) {
+    }
+
+    public record Result(List<Hit> hits, int totalMatches) {
+    }
+
+    public Bm25Index(String[] fields, float[] boosts, float k1, float b) {
+        if (fields.length == 0 || fields.length > MAX_FIELDS || fields.length != boosts.length) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_FIELDS + " fields, each with a boost, are supported");
+        }
+        this.fields = fields.clone();
+        this.boosts = boosts.clone();
+        this.k1 = k1;
+        this.b = b;
+        this.totalFieldLengths = new long[fields.length];
+    }
+
+    /**
+     * Lowercased word tokens of {@code text}, keeping inner {@code + # .} so
+     * "c++", "c#" and "node.js" survive, minus a few English stop words.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String token = matcher.group();
+            int end = token.length();
+            while (end > 1 && token.charAt(end - 1) == '.') {
+                end--;
+            }
+            token = token.substring(0, end);
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Indexes {@code id} with one text per field, in constructor order,
+     * replacing any previous version of it.
+     */
+    public void upsert(String id, String[] fieldTexts) {
+        if (fieldTexts.length != fields.length) {
+            throw new IllegalArgumentException("Expected " + fields.length + " field texts");
+        }
+        // Term -> per-field positions, built outside the lock
+        Map<String, List<Integer>[]> terms = new LinkedHashMap<>();
+        int[] lengths = new int[fields.length];
+        for (int f = 0; f < fields.length; f++) {
+            List<String> tokens = tokenize(fieldTexts[f]);
+            lengths[f] = tokens.size();
+            for (int position = 0; position < tokens.size(); position++) {
+                List<Integer>[] byField = terms.computeIfAbsent(tokens.get(position), t -> newPositionArray(fields.length));
+                if (byField[f] == null) {
+                    byField[f] = new ArrayList<>();
+                }
+                byField[f].add(position);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int ordinal = nextOrdinal++;
+            ensureCapacity(ordinal + 1);
+            ids[ordinal] = id;
+            ordinalsById.put(id, ordinal);
+            live.set(ordinal);
+            for (int f = 0; f < fields.length; f++) {
+                fieldLengths[ordinal * fields.length + f] = lengths[f];
+                totalFieldLengths[f] += lengths[f];
+            }
+            for (Map.Entry<String, List<Integer>[]> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new Postings()).append(ordinal, term.getValue());
+            }
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(id);
+            if (removed) {
+                maybeCompact();
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinalsById.clear();
+            postings.clear();
+            live.clear();
+            ids = new String[0];
+            fieldLengths = new int[0];
+            Arrays.fill(totalFieldLengths, 0);
+            nextOrdinal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the indexed documents, in no particular order.
+     */
+    public List<String> ids() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(ordinalsById.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hits {@code offset} to {@code offset + limit} of the ranking for
+     * {@code query}, plus the number of documents that matched at all.
+     */
+    public Result search(String query, int offset, int limit) {
+        List<List<String>> phrases = new ArrayList<>();
+        Matcher phraseMatcher = PHRASE.matcher(query);
+        while (phraseMatcher.find()) {
+            List<String> phrase = tokenize(phraseMatcher.group(1));
+            if (!phrase.isEmpty()) {
+                phrases.add(phrase);
+            }
+        }
+        Set<String> terms = new LinkedHashSet<>(tokenize(query.replace('"', ' ')));
+        if (terms.isEmpty() || limit <= 0) {
+            return new Result(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int docs = ordinalsById.size();
+            if (docs == 0) {
+                return new Result(List.of(), 0);
+            }
+            float[] averageLengths = new float[fields.length];
+            for (int f = 0; f < fields.length; f++) {
+                averageLengths[f] = Math.max(1f, (float) totalFieldLengths[f] / docs);
+            }
+
+            float[] scores = new float[nextOrdinal];
+            BitSet matched = new BitSet(nextOrdinal);
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    list.score(this, averageLengths, docs, scores, matched);
+                }
+            }
+            for (List<String> phrase : phrases) {
+                BitSet withPhrase = phraseMatches(phrase);
+                if (withPhrase == null) {
+                    return new Result(List.of(), 0);
+                }
+                matched.and(withPhrase);
+            }
+
+            int total = matched.cardinality();
+            int wanted = (int) Math.min((long) offset + limit, total);
+            if (wanted <= offset) {
+                return new Result(List.of(), total);
+            }
+            TopKHeap heap = new TopKHeap(wanted);
+            for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+                heap.offer(scores[ordinal], ordinal);
+            }
+            int[] ordinals = new int[heap.size()];
+            float[] ranked = new float[heap.size()];
+            heap.drainDescending(ordinals, ranked);
+            List<Hit> hits = new ArrayList<>(ordinals.length - offset);
+            for (int i = offset; i < ordinals.length; i++) {
+                hits.add(new Hit(ids[ordinals[i]], ranked[i]));
+            }
+            return new Result(hits, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        lock.writeLock().lock();
+        try {
+            // Written compacted, so a restored index starts without dead documents
+            compact();
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(fields.length);
+            out.writeInt(nextOrdinal);
+            for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+                out.writeUTF(ids[ordinal]);
+                for (int f = 0; f < fields.length; f++) {
+                    out.writeInt(fieldLengths[ordinal * fields.length + f]);
+                }
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                Postings list = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(list.lastOrdinal);
+                out.writeInt(list.length);
+                out.write(list.data, 0, list.length);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the current contents with a snapshot produced by
+     * {@link #writeSnapshot(DataOutputStream)} for the same fields.
+     */
+    public void readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != fields.length) {
+            throw new IOException("Not a BM25 index snapshot for these fields");
+        }
+        int count = in.readInt();
+        String[] snapshotIds = new String[Math.max(INITIAL_CAPACITY, count)];
+        int[] snapshotLengths = new int[snapshotIds.length * fields.length];
+        long[] snapshotTotals = new long[fields.length];
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            snapshotIds[ordinal] = in.readUTF();
+            for (int f = 0; f < fields.length; f++) {
+                int length = in.readInt();
+                snapshotLengths[ordinal * fields.length + f] = length;
+                snapshotTotals[f] += length;
+            }
+        }
+        int terms = in.readInt();
+        Map<String, Postings> snapshotPostings = new HashMap<>(terms * 2);
+        for (int i = 0; i < terms; i++) {
+            String term = in.readUTF();
+            Postings list = new Postings();
+            list.lastOrdinal = in.readInt();
+            list.length = in.readInt();
+            list.data = new byte[Math.max(16, list.length)];
+            in.readFully(list.data, 0, list.length);
+            snapshotPostings.put(term, list);
+        }
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            ids = snapshotIds;
+            fieldLengths = snapshotLengths;
+            System.arraycopy(snapshotTotals, 0, totalFieldLengths, 0, fields.length);
+            nextOrdinal = count;
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                ordinalsById.put(snapshotIds[ordinal], ordinal);
+            }
+            live.set(0, count);
+            postings.putAll(snapshotPostings);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean removeLocked(String id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) {
+            return false;
+        }
+        live.clear(ordinal);
+        for (int f = 0; f < fields.length; f++) {
+            totalFieldLengths[f] -= fieldLengths[ordinal * fields.length + f];
+        }
+        return true;
+    }
+
+    private void maybeCompact() {
+        int dead = nextOrdinal - ordinalsById.size();
+        if (dead >= MIN_DEAD_FOR_COMPACTION && dead > ordinalsById.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers live documents densely and rewrites every posting list
+     * without the dead ones.
+     */
+    private void compact() {
+        if (nextOrdinal == ordinalsById.size()) {
+            return;
+        }
+        int[] remap = new int[nextOrdinal];
+        int liveCount = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            remap[ordinal] = live.get(ordinal) ? liveCount++ : -1;
+        }
+
+        String[] newIds = new String[Math.max(INITIAL_CAPACITY, liveCount)];
+        int[] newLengths = new int[newIds.length * fields.length];
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            int target = remap[ordinal];
+            if (target >= 0) {
+                newIds[target] = ids[ordinal];
+                System.arraycopy(fieldLengths, ordinal * fields.length, newLengths, target * fields.length, fields.length);
+                ordinalsById.put(ids[ordinal], target);
+            }
+        }
+
+        postings.replaceAll((term, list) -> list.rewrite(remap, fields.length));
+        postings.values().removeIf(list -> list.length == 0);
+
+        ids = newIds;
+        fieldLengths = newLengths;
+        nextOrdinal = liveCount;
+        live.clear();
+        live.set(0, liveCount);
+    }
+
+    /**
+     * Documents containing {@code phrase} at consecutive positions of one
+     * field, or null when one of its terms is not indexed at all.
+     */
+    private BitSet phraseMatches(List<String> phrase) {
+        List<Map<Integer, int[][]>> positions = new ArrayList<>(phrase.size());
+        for (String term : phrase) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                return null;
+            }
+            positions.add(list.positions(this));
+        }
+
+        BitSet result = new BitSet();
+        for (Map.Entry<Integer, int[][]> first : positions.get(0).entrySet()) {
+            int ordinal = first.getKey();
+            for (int f = 0; f < fields.length && !result.get(ordinal); f++) {
+                int[] starts = first.getValue()[f];
+                if (starts == null) {
+                    continue;
+                }
+                for (int start : starts) {
+                    boolean all = true;
+                    for (int t = 1; t < phrase.size() && all; t++) {
+                        int[][] byField = positions.get(t).get(ordinal);
+                        all = byField != null && byField[f] != null && Arrays.binarySearch(byField[f], start + t) >= 0;
+                    }
+                    if (all) {
+                        result.set(ordinal);
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void ensureCapacity(int documents) {
+        if (ids.length >= documents) {
+            return;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, Math.max(documents, ids.length + (ids.length >> 1)));
+        ids = Arrays.copyOf(ids, capacity);
+        fieldLengths = Arrays.copyOf(fieldLengths, capacity * fields.length);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Integer>[] newPositionArray(int length) {
+        return (List<Integer>[]) new List[length];
+    }
+
+    /**
+     * Varint-encoded posting list of one term, appended in ordinal order.
+     */
+    private static final class Postings {
+        private byte[] data = new byte[16];
+        private int length;
+        private int lastOrdinal = -1;
+
+        void append(int ordinal, List<Integer>[] positionsByField) {
+            writeVarint(ordinal - lastOrdinal);
+            lastOrdinal = ordinal;
+            int mask = 0;
+            for (int f = 0; f < positionsByField.length; f++) {
+                if (positionsByField[f] != null) {
+                    mask |= 1 << f;
+                }
+            }
+            writeVarint(mask);
+            for (List<Integer> positions : positionsByField) {
+                if (positions == null) {
+                    continue;
+                }
+                writeVarint(positions.size());
+                int previous = 0;
+                for (int position : positions) {
+                    writeVarint(position - previous);
+                    previous = position;
+                }
+            }
+        }
+
+        /**
+         * Adds this term's BM25F contribution to every live document in it.
+         */
+        void score(Bm25Index index, float[] averageLengths, int docs, float[] scores, BitSet matched) {
+            int fieldCount = index.fields.length;
+            int[] ordinals = new int[16];
+            float[] weighted = new float[16];
+            int found = 0;
+
+            int[] cursor = {0};
+            int ordinal = -1;
+            while (cursor[0] < length) {
+                ordinal += readVarint(cursor);
+                int mask = readVarint(cursor);
+                float tf = 0f;
+                for (int f = 0; f < fieldCount; f++) {
+                    if ((mask & (1 << f)) == 0) {
+                        continue;
+                    }
+                    int frequency = readVarint(cursor);
+                    for (int i = 0; i < frequency; i++) {
+                        readVarint(cursor);
+                    }
+                    float norm = 1f - index.b + index.b * index.fieldLengths[ordinal * fieldCount + f] / averageLengths[f];
+                    tf += index.boosts[f] * frequency / norm;
+                }
+                if (!index.live.get(ordinal)) {
+                    continue;
+                }
+                if (found == ordinals.length) {
+                    ordinals = Arrays.copyOf(ordinals, found * 2);
+                    weighted = Arrays.copyOf(weighted, found * 2);
+                }
+                ordinals[found] = ordinal;
+                weighted[found] = tf;
+                found++;
+            }
+
+            float idf = (float) Math.log(1.0 + (docs - found + 0.5) / (found + 0.5));
+            for (int i = 0; i < found; i++) {
+                float tf = weighted[i];
+                scores[ordinals[i]] += idf * tf * (index.k1 + 1f) / (tf + index.k1);
+                matched.set(ordinals[i]);
+            }
+        }
+
+        /**
+         * Positions per field for every live document in this list.
+         */
+        Map<Integer, int[][]> positions(Bm25Index index) {
+            int fieldCount = index.fields.length;
+            Map<Integer, int[][]> result = new HashMap<>();
+            int[] cursor = {0};
+            int ordinal = -1;
+            while (cursor[0] < length) {
+                ordinal += readVarint(cursor);
+                int mask = readVarint(cursor);
+                int[][] byField = new int[fieldCount][];
+                for (int f = 0; f < fieldCount; f++) {
+                    if ((mask & (1 << f)) == 0) {
+                        continue;
+                    }
+                    int[] positions = new int[readVarint(cursor)];
+                    int previous = 0;
+                    for (int i = 0; i < positions.length; i++) {
+                        previous += readVarint(cursor);
+                        positions[i] = previous;
+                    }
+                    byField[f] = positions;
+                }
+                if (index.live.get(ordinal)) {
+                    result.put(ordinal, byField);
+                }
+            }
+            return result;
+        }
+
+        Postings rewrite(int[] remap, int fieldCount) {
+            Postings rewritten = new Postings();
+            int[] cursor = {0};
+            int ordinal = -1;
+            while (cursor[0] < length) {
+                ordinal += readVarint(cursor);
+                int entryStart = cursor[0];
+                int mask = readVarint(cursor);
+                for (int f = 0; f < fieldCount; f++) {
+                    if ((mask & (1 << f)) != 0) {
+                        int frequency = readVarint(cursor);
+                        for (int i = 0; i < frequency; i++) {
+                            readVarint(cursor);
+                        }
+                    }
+                }
+                int target = remap[ordinal];
+                if (target >= 0) {
+                    // Field data is position-relative, so it is copied as is
+                    rewritten.writeVarint(target - rewritten.lastOrdinal);
+                    rewritten.lastOrdinal = target;
+                    rewritten.writeBytes(data, entryStart, cursor[0] - entryStart);
+                }
+            }
+            return rewritten;
+        }
+
+        private void writeVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] source, int from, int count) {
+            ensure(count);
+            System.arraycopy(source, from, data, length, count);
+            length += count;
+        }
+
+        private int readVarint(int[] cursor) {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[cursor[0]++];
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(length + extra, data.length * 2));
+            }
+        }
+    }
+}
@@ -4,6 +4,11 @@ import java.util.List;
 
 public class CosineSimilarityUtil {
 
+    /**
+     * Cosine similarity of two raw embeddings. For repeated comparisons against
+     * the same vectors, normalize once with {@link VectorKernels#toUnitVector}
+     * and use {@link #calculate(float[], float[])} instead.
+     */
     public static double calculate(List<Double> vectorA, List<Double> vectorB) {
         if (vectorA == null || vectorB == null || vectorA.size() != vectorB.size() || vectorA.isEmpty()) {
             return 0.0;
@@ -14,9 +19,11 @@ public class CosineSimilarityUtil {
         double normB = 0.0;
 
         for (int i = 0; i < vectorA.size(); i++) {
-            dotProduct += vectorA.get(i) * vectorB.get(i);
-            normA += Math.pow(vectorA.get(i), 2);
-            normB += Math.pow(vectorB.get(i), 2);
+            double a = vectorA.get(i);
+            double b = vectorB.get(i);
+            dotProduct += a * b;
+            normA += a * a;
+            normB += b * b;
         }
 
         if (normA == 0 || normB == 0) {
@@ -25,4 +32,14 @@ public class CosineSimilarityUtil {
 
         return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
     }
+
+    /**
+     * Cosine similarity of two unit-normalized vectors.
+     */
+    public static double calculate(float[] unitA, float[] unitB) {
+        if (unitA == null || unitB == null || unitA.length != unitB.length) {
+            return 0.0;
+        }
+        return VectorKernels.dot(unitA, unitB);
+    }
 }
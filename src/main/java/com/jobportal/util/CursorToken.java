@@ -0,0 +1,38 @@
+package com.jobportal.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by a timestamp and then id, both descending,
+ * handed to clients as an opaque URL-safe string. The next page starts right
+ * after the document the token was taken from.
+ */
+public record CursorToken(LocalDateTime timestamp, String id) {
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        String raw = timestamp.toInstant(ZoneOffset.UTC).toEpochMilli() + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if {@code token} is not one
+     */
+    public static CursorToken decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        long millis = Long.parseLong(raw.substring(0, separator));
+        return new CursorToken(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC),
+                raw.substring(separator + 1));
+    }
+}
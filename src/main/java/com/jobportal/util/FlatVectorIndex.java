@@ -0,0 +1,305 @@
+package com.jobportal.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Exact nearest-neighbour index over unit-normalized vectors.
+ *
+ * Vectors live in a single row-major float[] so a search is one linear pass
+ * over contiguous memory with no per-row objects. Removal swaps the last row
+ * into the freed slot, keeping the matrix dense.
+ *
+ * Given a {@link ForkJoinPool}, large indexes are scanned in row partitions in
+ * parallel. Every partition keeps its own primitive {@link TopKHeap}, the
+ * heaps are merged on the way back up, and only the final K rows become
+ * {@link Hit} objects, so per-search allocation does not grow with the index.
+ */
+public class FlatVectorIndex implements VectorIndex {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int SNAPSHOT_MAGIC = 0x464C4154; // "FLAT"
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rowsById = new HashMap<>();
+    private final ForkJoinPool searchPool;
+    private final int partitionRows;
+
+    private int dimension;
+    private float[] matrix = new float[0];
+    private String[] ids = new String[0];
+    private int size;
+
+    public FlatVectorIndex() {
+        this(null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param searchPool    pool that partitions are scored on, or null to always scan on the caller
+     * @param partitionRows smallest partition worth handing to another thread
+     */
+    public FlatVectorIndex(ForkJoinPool searchPool, int partitionRows) {
+        this.searchPool = searchPool;
+        this.partitionRows = Math.max(1, partitionRows);
+    }
+
+    @Override
+    public void upsert(String id, float[] unitVector) {
+        lock.writeLock().lock();
+        try {
+            if (size == 0 && unitVector.length != dimension) {
+                dimension = unitVector.length;
+                matrix = new float[ids.length * dimension];
+            }
+            if (unitVector.length != dimension) {
+                throw new IllegalArgumentException("Expected vector of dimension " + dimension + " but got " + unitVector.length);
+            }
+
+            Integer row = rowsById.get(id);
+            if (row == null) {
+                ensureCapacity(size + 1);
+                row = size++;
+                ids[row] = id;
+                rowsById.put(id, row);
+            }
+            System.arraycopy(unitVector, 0, matrix, row * dimension, dimension);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.remove(id);
+            if (row == null) {
+                return false;
+            }
+            int last = --size;
+            if (row != last) {
+                System.arraycopy(matrix, last * dimension, matrix, row * dimension, dimension);
+                ids[row] = ids[last];
+                rowsById.put(ids[row], row);
+            }
+            ids[last] = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rowsById.clear();
+            matrix = new float[0];
+            ids = new String[0];
+            size = 0;
+            dimension = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hit> search(float[] unitQuery, int k) {
+        lock.readLock().lock();
+        try {
+            if (size == 0 || k <= 0 || unitQuery.length != dimension) {
+                return List.of();
+            }
+
+            int limit = Math.min(k, size);
+            TopKHeap heap;
+            if (searchPool != null && size >= 2 * partitionRows) {
+                // Aim for a couple of partitions per worker so stragglers even out
+                int leafRows = Math.max(partitionRows, size / (2 * searchPool.getParallelism()) + 1);
+                heap = searchPool.invoke(new PartitionScan(unitQuery, matrix, dimension, 0, size, limit, leafRows));
+            } else {
+                heap = scan(unitQuery, matrix, dimension, 0, size, limit);
+            }
+
+            return toHits(heap);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hit> searchAmong(float[] unitQuery, int k, Collection<String> candidateIds) {
+        lock.readLock().lock();
+        try {
+            if (size == 0 || k <= 0 || unitQuery.length != dimension || candidateIds.isEmpty()) {
+                return List.of();
+            }
+            TopKHeap heap = new TopKHeap(Math.min(k, candidateIds.size()));
+            for (String id : candidateIds) {
+                Integer row = rowsById.get(id);
+                if (row != null) {
+                    heap.offer(VectorKernels.dot(unitQuery, matrix, row * dimension), row);
+                }
+            }
+            return toHits(heap);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return rowsById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int dimension() {
+        lock.readLock().lock();
+        try {
+            return dimension;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(dimension);
+            out.writeInt(size);
+            for (int row = 0; row < size; row++) {
+                out.writeUTF(ids[row]);
+            }
+            for (int i = 0; i < size * dimension; i++) {
+                out.writeFloat(matrix[i]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a flat vector index snapshot");
+        }
+        int snapshotDimension = in.readInt();
+        int snapshotSize = in.readInt();
+        String[] snapshotIds = new String[Math.max(INITIAL_CAPACITY, snapshotSize)];
+        for (int row = 0; row < snapshotSize; row++) {
+            snapshotIds[row] = in.readUTF();
+        }
+        float[] snapshotMatrix = new float[snapshotIds.length * snapshotDimension];
+        for (int i = 0; i < snapshotSize * snapshotDimension; i++) {
+            snapshotMatrix[i] = in.readFloat();
+        }
+
+        lock.writeLock().lock();
+        try {
+            rowsById.clear();
+            for (int row = 0; row < snapshotSize; row++) {
+                rowsById.put(snapshotIds[row], row);
+            }
+            dimension = snapshotDimension;
+            size = snapshotSize;
+            ids = snapshotIds;
+            matrix = snapshotMatrix;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Hit> toHits(TopKHeap heap) {
+        int[] rows = new int[heap.size()];
+        float[] scores = new float[heap.size()];
+        heap.drainDescending(rows, scores);
+        List<Hit> hits = new ArrayList<>(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            hits.add(new Hit(ids[rows[i]], scores[i]));
+        }
+        return hits;
+    }
+
+    private static TopKHeap scan(float[] query, float[] matrix, int dimension, int from, int to, int k) {
+        TopKHeap heap = new TopKHeap(k);
+        for (int row = from; row < to; row++) {
+            heap.offer(VectorKernels.dot(query, matrix, row * dimension), row);
+        }
+        return heap;
+    }
+
+    // Runs under the caller's read lock, which is held until invoke() returns
+    private static final class PartitionScan extends RecursiveTask<TopKHeap> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final float[] query;
+        private final float[] matrix;
+        private final int dimension;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final int leafRows;
+
+        PartitionScan(float[] query, float[] matrix, int dimension, int from, int to, int k, int leafRows) {
+            this.query = query;
+            this.matrix = matrix;
+            this.dimension = dimension;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected TopKHeap compute() {
+            if (to - from <= leafRows) {
+                return scan(query, matrix, dimension, from, to, k);
+            }
+            int mid = (from + to) >>> 1;
+            PartitionScan left = new PartitionScan(query, matrix, dimension, from, mid, k, leafRows);
+            left.fork();
+            TopKHeap right = new PartitionScan(query, matrix, dimension, mid, to, k, leafRows).compute();
+            TopKHeap merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+
+    private void ensureCapacity(int rows) {
+        if (ids.length >= rows) {
+            return;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, Math.max(rows, ids.length + (ids.length >> 1)));
+        ids = Arrays.copyOf(ids, capacity);
+        matrix = Arrays.copyOf(matrix, capacity * dimension);
+    }
+}
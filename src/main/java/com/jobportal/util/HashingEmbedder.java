@@ -0,0 +1,102 @@
+package com.jobportal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Deterministic text embedder based on feature hashing, standing in for the
+ * embedding model where none is reachable.
+ *
+ * Every lowercase word and every character n-gram of a word (with boundary
+ * marks, so {@code "java"} yields {@code "<ja", "jav", "ava", "va>"}) is hashed
+ * with 64-bit FNV-1a into one of {@code dimension} buckets, with a sign taken
+ * from the same hash so collisions cancel out on average. Counts are damped
+ * with {@code 1 + ln(tf)} and the result is L2-normalized.
+ *
+ * The output depends on nothing but the text, the dimension and the n-gram
+ * length, so it is stable across runs and JVMs. Texts sharing words or
+ * spellings score higher than unrelated ones, which is enough to exercise
+ * ranking code, but it carries no semantics.
+ */
+public final class HashingEmbedder {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int dimension;
+    private final int ngram;
+
+    public HashingEmbedder(int dimension, int ngram) {
+        if (dimension < 1 || ngram < 1) {
+            throw new IllegalArgumentException("Dimension and n-gram length must be positive");
+        }
+        this.dimension = dimension;
+        this.ngram = ngram;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public List<Double> embed(String text) {
+        float[] counts = new float[dimension];
+        if (text != null) {
+            String lower = text.toLowerCase(Locale.ROOT);
+            int start = -1;
+            for (int i = 0; i <= lower.length(); i++) {
+                boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+                if (wordChar && start < 0) {
+                    start = i;
+                } else if (!wordChar && start >= 0) {
+                    addWord(counts, lower.substring(start, i));
+                    start = -1;
+                }
+            }
+        }
+
+        double squaredNorm = 0.0;
+        for (int i = 0; i < dimension; i++) {
+            float count = counts[i];
+            if (count != 0) {
+                float damped = (float) Math.copySign(1.0 + Math.log(Math.abs(count)), count);
+                counts[i] = damped;
+                squaredNorm += damped * damped;
+            }
+        }
+        double norm = Math.sqrt(squaredNorm);
+
+        List<Double> vector = new ArrayList<>(dimension);
+        for (int i = 0; i < dimension; i++) {
+            vector.add(norm > 0 ? counts[i] / norm : 0.0);
+        }
+        return vector;
+    }
+
+    private void addWord(float[] counts, String word) {
+        add(counts, hash(word, 0, word.length(), 'w'));
+        String marked = "<" + word + ">";
+        if (marked.length() <= ngram) {
+            return;
+        }
+        for (int i = 0; i + ngram <= marked.length(); i++) {
+            add(counts, hash(marked, i, i + ngram, 'g'));
+        }
+    }
+
+    private void add(float[] counts, long hash) {
+        // Bucket from the low 63 bits, sign from the top bit
+        int bucket = (int) ((hash & Long.MAX_VALUE) % dimension);
+        counts[bucket] += hash < 0 ? -1f : 1f;
+    }
+
+    // Kind keeps a word and an identical n-gram in different buckets
+    private static long hash(String text, int from, int to, char kind) {
+        long hash = (FNV_OFFSET ^ kind) * FNV_PRIME;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,685 @@
+package com.jobportal.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Approximate nearest-neighbour index based on Hierarchical Navigable Small
+ * World graphs (Malkov &amp; Yashunin).
+ *
+ * {@code m} bounds the links per node on the upper layers (layer 0 allows
+ * {@code 2m}), {@code efConstruction} is the beam width used while inserting
+ * and {@code efSearch} the default beam width for queries. Larger values trade
+ * latency and memory for recall.
+ *
+ * Removal only tombstones a node so the graph stays navigable; an upsert of an
+ * existing id tombstones the old node and inserts a fresh one. Once tombstones
+ * outnumber live nodes the graph is rebuilt from the live vectors.
+ */
+public class HnswVectorIndex implements VectorIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x484E5357; // "HNSW"
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MIN_TOMBSTONES_FOR_REBUILD = 64;
+
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> nodesById = new HashMap<>();
+    private final ThreadLocal<Visited> visited = ThreadLocal.withInitial(Visited::new);
+
+    private SplittableRandom random = new SplittableRandom(42);
+    private int dimension;
+    private float[] vectors = new float[0];
+    private String[] ids = new String[0];
+    private boolean[] deleted = new boolean[0];
+    private int[][][] links = new int[0][][];
+    private int nodeCount;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswVectorIndex(int m, int efConstruction, int efSearch) {
+        if (m < 2 || efConstruction < 1 || efSearch < 1) {
+            throw new IllegalArgumentException("HNSW requires m >= 2 and positive ef values");
+        }
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    @Override
+    public void upsert(String id, float[] unitVector) {
+        lock.writeLock().lock();
+        try {
+            if (nodeCount == 0 && unitVector.length != dimension) {
+                dimension = unitVector.length;
+                vectors = new float[ids.length * dimension];
+            }
+            if (unitVector.length != dimension) {
+                throw new IllegalArgumentException("Expected vector of dimension " + dimension + " but got " + unitVector.length);
+            }
+
+            Integer existing = nodesById.remove(id);
+            if (existing != null) {
+                markDeleted(existing);
+            }
+            insert(id, unitVector);
+            maybeRebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodesById.remove(id);
+            if (node == null) {
+                return false;
+            }
+            markDeleted(node);
+            maybeRebuild();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hit> search(float[] unitQuery, int k) {
+        return search(unitQuery, k, efSearch);
+    }
+
+    /**
+     * Searches with an explicit beam width instead of the configured
+     * {@code efSearch}; the effective beam is never narrower than {@code k}.
+     */
+    public List<Hit> search(float[] unitQuery, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0 || unitQuery.length != dimension) {
+                return List.of();
+            }
+
+            int current = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                current = greedyClosest(unitQuery, current, level);
+            }
+
+            NodeHeap results = searchLayer(unitQuery, new int[]{current}, Math.max(ef, k), 0, true);
+            while (results.size() > k) {
+                results.poll();
+            }
+
+            Hit[] hits = new Hit[results.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                float score = results.peekScore();
+                hits[i] = new Hit(ids[results.poll()], score);
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores the allowed nodes directly rather than walking the graph, which
+     * would mostly visit filtered-out nodes when the allowed set is small.
+     */
+    @Override
+    public List<Hit> searchAmong(float[] unitQuery, int k, Collection<String> candidateIds) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0 || unitQuery.length != dimension || candidateIds.isEmpty()) {
+                return List.of();
+            }
+            int limit = Math.min(k, candidateIds.size());
+            NodeHeap results = new NodeHeap(limit + 1, false);
+            for (String id : candidateIds) {
+                Integer node = nodesById.get(id);
+                if (node == null) {
+                    continue;
+                }
+                float score = VectorKernels.dot(unitQuery, vectors, node * dimension);
+                if (results.size() < limit || score > results.peekScore()) {
+                    results.push(node, score);
+                    if (results.size() > limit) {
+                        results.poll();
+                    }
+                }
+            }
+
+            Hit[] hits = new Hit[results.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                float score = results.peekScore();
+                hits[i] = new Hit(ids[results.poll()], score);
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return nodesById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int dimension() {
+        lock.readLock().lock();
+        try {
+            return dimension;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset();
+            dimension = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(m);
+            out.writeInt(dimension);
+            out.writeInt(nodeCount);
+            out.writeInt(entryPoint);
+            out.writeInt(maxLevel);
+            for (int node = 0; node < nodeCount; node++) {
+                out.writeBoolean(deleted[node]);
+                out.writeUTF(ids[node]);
+                int offset = node * dimension;
+                for (int i = 0; i < dimension; i++) {
+                    out.writeFloat(vectors[offset + i]);
+                }
+                int[][] nodeLinks = links[node];
+                out.writeInt(nodeLinks.length);
+                for (int[] levelLinks : nodeLinks) {
+                    out.writeInt(levelLinks[0]);
+                    for (int i = 1; i <= levelLinks[0]; i++) {
+                        out.writeInt(levelLinks[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not an HNSW index snapshot");
+        }
+        if (in.readInt() != m) {
+            throw new IOException("HNSW snapshot was written with a different m");
+        }
+        int snapshotDimension = in.readInt();
+        int snapshotNodes = in.readInt();
+        int snapshotEntry = in.readInt();
+        int snapshotMaxLevel = in.readInt();
+
+        int capacity = Math.max(INITIAL_CAPACITY, snapshotNodes);
+        String[] snapshotIds = new String[capacity];
+        boolean[] snapshotDeleted = new boolean[capacity];
+        float[] snapshotVectors = new float[capacity * snapshotDimension];
+        int[][][] snapshotLinks = new int[capacity][][];
+        Map<String, Integer> snapshotNodesById = new HashMap<>();
+        int snapshotDeletedCount = 0;
+
+        for (int node = 0; node < snapshotNodes; node++) {
+            snapshotDeleted[node] = in.readBoolean();
+            snapshotIds[node] = in.readUTF();
+            int offset = node * snapshotDimension;
+            for (int i = 0; i < snapshotDimension; i++) {
+                snapshotVectors[offset + i] = in.readFloat();
+            }
+            int levels = in.readInt();
+            snapshotLinks[node] = new int[levels][];
+            for (int level = 0; level < levels; level++) {
+                int count = in.readInt();
+                int[] levelLinks = new int[(level == 0 ? maxM0 : m) + 1];
+                levelLinks[0] = count;
+                for (int i = 1; i <= count; i++) {
+                    levelLinks[i] = in.readInt();
+                }
+                snapshotLinks[node][level] = levelLinks;
+            }
+            if (snapshotDeleted[node]) {
+                snapshotDeletedCount++;
+            } else {
+                snapshotNodesById.put(snapshotIds[node], node);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            dimension = snapshotDimension;
+            nodeCount = snapshotNodes;
+            entryPoint = snapshotEntry;
+            maxLevel = snapshotMaxLevel;
+            ids = snapshotIds;
+            deleted = snapshotDeleted;
+            vectors = snapshotVectors;
+            links = snapshotLinks;
+            deletedCount = snapshotDeletedCount;
+            nodesById.clear();
+            nodesById.putAll(snapshotNodesById);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(String id, float[] vector) {
+        int level = randomLevel();
+        int node = allocate(id, vector, level);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+
+        int[] entryPoints = {current};
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            NodeHeap candidates = searchLayer(vector, entryPoints, efConstruction, l, false);
+            int[] found = candidates.drainBestFirst();
+            int[] neighbours = selectNeighbours(vector, found, m);
+
+            int[] nodeLinks = links[node][l];
+            nodeLinks[0] = neighbours.length;
+            System.arraycopy(neighbours, 0, nodeLinks, 1, neighbours.length);
+
+            int maxLinks = l == 0 ? maxM0 : m;
+            for (int neighbour : neighbours) {
+                connect(neighbour, node, l, maxLinks);
+            }
+            entryPoints = found;
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    private void connect(int from, int to, int level, int maxLinks) {
+        int[] fromLinks = links[from][level];
+        int count = fromLinks[0];
+        if (count < maxLinks) {
+            fromLinks[count + 1] = to;
+            fromLinks[0] = count + 1;
+            return;
+        }
+
+        // Over capacity: the new link replaces the weakest existing one if it is closer.
+        // Re-running the full heuristic here dominates insert cost at 768 dimensions.
+        int fromOffset = from * dimension;
+        int weakest = -1;
+        float weakestScore = dotRows(fromOffset, to * dimension);
+        for (int i = 1; i <= count; i++) {
+            float score = dotRows(fromOffset, fromLinks[i] * dimension);
+            if (score < weakestScore) {
+                weakestScore = score;
+                weakest = i;
+            }
+        }
+        if (weakest > 0) {
+            fromLinks[weakest] = to;
+        }
+    }
+
+    /**
+     * Neighbour selection heuristic: a candidate is kept only if it is closer
+     * to the base vector than to any neighbour already kept, which spreads
+     * links across clusters. Pruned candidates backfill any remaining slots.
+     */
+    private int[] selectNeighbours(float[] base, int[] candidatesBestFirst, int limit) {
+        if (candidatesBestFirst.length <= limit) {
+            return candidatesBestFirst;
+        }
+
+        int[] selected = new int[limit];
+        int selectedCount = 0;
+        int[] pruned = new int[candidatesBestFirst.length];
+        int prunedCount = 0;
+
+        for (int candidate : candidatesBestFirst) {
+            if (selectedCount == limit) {
+                break;
+            }
+            int candidateOffset = candidate * dimension;
+            float toBase = VectorKernels.dot(base, vectors, candidateOffset);
+            boolean keep = true;
+            for (int i = 0; i < selectedCount; i++) {
+                float toSelected = dotRows(candidateOffset, selected[i] * dimension);
+                if (toSelected > toBase) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[selectedCount++] = candidate;
+            } else {
+                pruned[prunedCount++] = candidate;
+            }
+        }
+
+        for (int i = 0; i < prunedCount && selectedCount < limit; i++) {
+            selected[selectedCount++] = pruned[i];
+        }
+        return selectedCount == limit ? selected : Arrays.copyOf(selected, selectedCount);
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float currentScore = VectorKernels.dot(query, vectors, current * dimension);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] currentLinks = links[current][level];
+            for (int i = 1; i <= currentLinks[0]; i++) {
+                int neighbour = currentLinks[i];
+                float score = VectorKernels.dot(query, vectors, neighbour * dimension);
+                if (score > currentScore) {
+                    currentScore = score;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on one layer. Returns a min-heap holding the best {@code ef}
+     * nodes found; tombstoned nodes are traversed but, when
+     * {@code skipDeleted} is set, never returned.
+     */
+    private NodeHeap searchLayer(float[] query, int[] entryPoints, int ef, int level, boolean skipDeleted) {
+        Visited seen = visited.get();
+        seen.reset(nodeCount);
+
+        NodeHeap candidates = new NodeHeap(ef * 2, true);
+        NodeHeap results = new NodeHeap(ef + 1, false);
+
+        for (int entry : entryPoints) {
+            if (!seen.visit(entry)) {
+                continue;
+            }
+            float score = VectorKernels.dot(query, vectors, entry * dimension);
+            candidates.push(entry, score);
+            if (!skipDeleted || !deleted[entry]) {
+                results.push(entry, score);
+                if (results.size() > ef) {
+                    results.poll();
+                }
+            }
+        }
+
+        while (candidates.size() > 0) {
+            float candidateScore = candidates.peekScore();
+            if (results.size() >= ef && candidateScore < results.peekScore()) {
+                break;
+            }
+            int candidate = candidates.poll();
+
+            int[] candidateLinks = links[candidate][level];
+            for (int i = 1; i <= candidateLinks[0]; i++) {
+                int neighbour = candidateLinks[i];
+                if (!seen.visit(neighbour)) {
+                    continue;
+                }
+                float score = VectorKernels.dot(query, vectors, neighbour * dimension);
+                if (results.size() < ef || score > results.peekScore()) {
+                    candidates.push(neighbour, score);
+                    if (!skipDeleted || !deleted[neighbour]) {
+                        results.push(neighbour, score);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private int allocate(String id, float[] vector, int level) {
+        int node = nodeCount;
+        if (node == ids.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            deleted = Arrays.copyOf(deleted, capacity);
+            links = Arrays.copyOf(links, capacity);
+            vectors = Arrays.copyOf(vectors, capacity * dimension);
+        }
+        nodeCount++;
+
+        ids[node] = id;
+        System.arraycopy(vector, 0, vectors, node * dimension, dimension);
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[(l == 0 ? maxM0 : m) + 1];
+        }
+        nodesById.put(id, node);
+        return node;
+    }
+
+    private void markDeleted(int node) {
+        if (!deleted[node]) {
+            deleted[node] = true;
+            deletedCount++;
+        }
+    }
+
+    private void maybeRebuild() {
+        int live = nodeCount - deletedCount;
+        if (deletedCount < MIN_TOMBSTONES_FOR_REBUILD || deletedCount <= live) {
+            return;
+        }
+
+        String[] oldIds = ids;
+        boolean[] oldDeleted = deleted;
+        float[] oldVectors = vectors;
+        int oldCount = nodeCount;
+        int oldDimension = dimension;
+
+        reset();
+        dimension = oldDimension;
+        vectors = new float[ids.length * dimension];
+        for (int node = 0; node < oldCount; node++) {
+            if (!oldDeleted[node]) {
+                int offset = node * oldDimension;
+                insert(oldIds[node], Arrays.copyOfRange(oldVectors, offset, offset + oldDimension));
+            }
+        }
+    }
+
+    private void reset() {
+        nodesById.clear();
+        ids = new String[0];
+        deleted = new boolean[0];
+        links = new int[0][][];
+        vectors = new float[0];
+        nodeCount = 0;
+        deletedCount = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+        random = new SplittableRandom(42);
+    }
+
+    private int randomLevel() {
+        double r = 1.0 - random.nextDouble();
+        return (int) (-Math.log(r) * levelMultiplier);
+    }
+
+    private float dotRows(int offsetA, int offsetB) {
+        return VectorKernels.dot(vectors, offsetA, vectors, offsetB, dimension);
+    }
+
+    /**
+     * Binary heap of (node, score) pairs on primitive arrays. A max-heap
+     * yields the best-scoring node first, a min-heap the worst.
+     */
+    private static final class NodeHeap {
+        private final boolean max;
+        private int[] nodes;
+        private float[] scores;
+        private int size;
+
+        NodeHeap(int capacity, boolean max) {
+            this.max = max;
+            this.nodes = new int[Math.max(capacity, 4)];
+            this.scores = new float[nodes.length];
+        }
+
+        int size() {
+            return size;
+        }
+
+        float peekScore() {
+            return scores[0];
+        }
+
+        void push(int node, float score) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(score, scores[parent])) {
+                    break;
+                }
+                nodes[i] = nodes[parent];
+                scores[i] = scores[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            scores[i] = score;
+        }
+
+        int poll() {
+            int top = nodes[0];
+            int lastNode = nodes[--size];
+            float lastScore = scores[size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < size && before(scores[right], scores[child])) {
+                    child = right;
+                }
+                if (!before(scores[child], lastScore)) {
+                    break;
+                }
+                nodes[i] = nodes[child];
+                scores[i] = scores[child];
+                i = child;
+            }
+            nodes[i] = lastNode;
+            scores[i] = lastScore;
+            return top;
+        }
+
+        /**
+         * Empties the heap and returns its nodes ordered best score first.
+         */
+        int[] drainBestFirst() {
+            int[] drained = new int[size];
+            if (max) {
+                for (int i = 0; i < drained.length; i++) {
+                    drained[i] = poll();
+                }
+            } else {
+                for (int i = drained.length - 1; i >= 0; i--) {
+                    drained[i] = poll();
+                }
+            }
+            return drained;
+        }
+
+        private boolean before(float a, float b) {
+            return max ? a > b : a < b;
+        }
+    }
+
+    /**
+     * Per-thread visited marks, cleared in O(1) by bumping an epoch.
+     */
+    private static final class Visited {
+        private int[] marks = new int[0];
+        private int epoch;
+
+        void reset(int nodes) {
+            if (marks.length < nodes) {
+                marks = new int[Math.max(nodes, marks.length * 2)];
+                epoch = 0;
+            }
+            epoch++;
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        boolean visit(int node) {
+            if (marks[node] == epoch) {
+                return false;
+            }
+            marks[node] = epoch;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.jobportal.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Versioned linear map from embedding space down to a few dimensions, used to
+ * shortlist candidates cheaply before scoring them with the full vectors.
+ *
+ * {@link #fitPca} keeps the top principal directions of a sample of unit
+ * vectors (of the uncentered second-moment matrix, so dot products rather than
+ * distances to the mean are preserved); {@link #random} is a scaled Gaussian
+ * projection that needs no data. Either way the projected dot product
+ * approximates the original one, so reduced vectors are not re-normalized.
+ */
+public final class LinearProjection {
+
+    private static final int POWER_ITERATIONS = 30;
+
+    private final long version;
+    private final int inputDimension;
+    private final int outputDimension;
+    private final float[] matrix; // outputDimension rows of inputDimension
+
+    public LinearProjection(long version, int inputDimension, int outputDimension, float[] matrix) {
+        if (matrix.length != inputDimension * outputDimension) {
+            throw new IllegalArgumentException("Projection matrix must hold " + inputDimension * outputDimension + " values");
+        }
+        this.version = version;
+        this.inputDimension = inputDimension;
+        this.outputDimension = outputDimension;
+        this.matrix = matrix;
+    }
+
+    /**
+     * Gaussian random projection scaled by {@code 1/sqrt(outputDimension)}, so
+     * projected dot products are unbiased estimates of the original ones.
+     */
+    public static LinearProjection random(long version, int inputDimension, int outputDimension, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        float scale = (float) (1.0 / Math.sqrt(outputDimension));
+        float[] matrix = new float[inputDimension * outputDimension];
+        for (int i = 0; i < matrix.length; i++) {
+            matrix[i] = (float) random.nextGaussian() * scale;
+        }
+        return new LinearProjection(version, inputDimension, outputDimension, matrix);
+    }
+
+    /**
+     * Top {@code outputDimension} principal directions of {@code sample}, found
+     * by block power iteration on its second-moment matrix. Falls back to a
+     * random projection when the sample is smaller than the output dimension.
+     */
+    public static LinearProjection fitPca(long version, List<float[]> sample, int outputDimension, long seed) {
+        if (sample.isEmpty()) {
+            throw new IllegalArgumentException("Cannot fit a projection without sample vectors");
+        }
+        int d = sample.get(0).length;
+        int r = Math.min(outputDimension, d);
+        if (sample.size() < r) {
+            return random(version, d, outputDimension, seed);
+        }
+
+        // Second-moment matrix, upper triangle accumulated then mirrored
+        double[] moments = new double[d * d];
+        for (float[] x : sample) {
+            for (int i = 0; i < d; i++) {
+                double xi = x[i];
+                int row = i * d;
+                for (int j = i; j < d; j++) {
+                    moments[row + j] += xi * x[j];
+                }
+            }
+        }
+        for (int i = 0; i < d; i++) {
+            for (int j = i + 1; j < d; j++) {
+                moments[j * d + i] = moments[i * d + j];
+            }
+        }
+
+        // Basis kept as r rows of length d
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] basis = new double[r * d];
+        for (int i = 0; i < basis.length; i++) {
+            basis[i] = random.nextGaussian();
+        }
+        orthonormalize(basis, r, d);
+        double[] next = new double[r * d];
+        for (int iteration = 0; iteration < POWER_ITERATIONS; iteration++) {
+            for (int c = 0; c < r; c++) {
+                int out = c * d;
+                for (int i = 0; i < d; i++) {
+                    int row = i * d;
+                    double sum = 0.0;
+                    for (int j = 0; j < d; j++) {
+                        sum += moments[row + j] * basis[out + j];
+                    }
+                    next[out + i] = sum;
+                }
+            }
+            double[] swap = basis;
+            basis = next;
+            next = swap;
+            orthonormalize(basis, r, d);
+        }
+
+        float[] matrix = new float[outputDimension * d];
+        for (int i = 0; i < r * d; i++) {
+            matrix[i] = (float) basis[i];
+        }
+        return new LinearProjection(version, d, outputDimension, matrix);
+    }
+
+    public float[] project(float[] vector) {
+        if (vector.length != inputDimension) {
+            throw new IllegalArgumentException("Expected vector of dimension " + inputDimension + " but got " + vector.length);
+        }
+        float[] projected = new float[outputDimension];
+        for (int row = 0; row < outputDimension; row++) {
+            projected[row] = VectorKernels.dot(vector, matrix, row * inputDimension);
+        }
+        return projected;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int inputDimension() {
+        return inputDimension;
+    }
+
+    public int outputDimension() {
+        return outputDimension;
+    }
+
+    public byte[] matrixBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(matrix.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(matrix);
+        return buffer.array();
+    }
+
+    public static LinearProjection fromMatrixBytes(long version, int inputDimension, int outputDimension, byte[] bytes) {
+        float[] matrix = new float[inputDimension * outputDimension];
+        if (bytes.length != matrix.length * Float.BYTES) {
+            throw new IllegalArgumentException("Projection matrix must be " + matrix.length * Float.BYTES + " bytes");
+        }
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(matrix);
+        return new LinearProjection(version, inputDimension, outputDimension, matrix);
+    }
+
+    // Modified Gram-Schmidt over the rows
+    private static void orthonormalize(double[] rows, int count, int length) {
+        for (int c = 0; c < count; c++) {
+            int offset = c * length;
+            for (int p = 0; p < c; p++) {
+                int prev = p * length;
+                double dot = 0.0;
+                for (int i = 0; i < length; i++) {
+                    dot += rows[offset + i] * rows[prev + i];
+                }
+                for (int i = 0; i < length; i++) {
+                    rows[offset + i] -= dot * rows[prev + i];
+                }
+            }
+            double norm = 0.0;
+            for (int i = 0; i < length; i++) {
+                norm += rows[offset + i] * rows[offset + i];
+            }
+            norm = Math.sqrt(norm);
+            for (int i = 0; i < length; i++) {
+                rows[offset + i] = norm > 1e-12 ? rows[offset + i] / norm : 0.0;
+            }
+        }
+    }
+}
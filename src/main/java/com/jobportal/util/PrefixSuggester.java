@@ -0,0 +1,249 @@
+package com.jobportal.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable prefix completion over weighted phrases.
+ *
+ * Phrases are stored in a radix trie (chains of single-child nodes collapsed
+ * into one edge label) keyed by their normalized form and by the normalized
+ * form of every later word start, so "java" completes "Senior Java Developer"
+ * as well as "Java". Each node keeps the ids of the {@code topK} heaviest
+ * distinct phrases below it, so a lookup is a walk down the query's
+ * characters followed by a copy of one precomputed list, with no search
+ * through the subtree.
+ */
+public final class PrefixSuggester {
+
+    private final String[] texts;
+    private final long[] weights;
+    private final Node root;
+    private final int topK;
+
+    public record Suggestion(String text, long weight) {
+    }
+
+    private static final class Node {
+        private final String label;
+        private char[] firsts = new char[0];
+        private Node[] children = new Node[0];
+        private int[] top = new int[0];
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private PrefixSuggester(String[] texts, long[] weights, Node root, int topK) {
+        this.texts = texts;
+        this.weights = weights;
+        this.root = root;
+        this.topK = topK;
+    }
+
+    /**
+     * Lowercased, trimmed, with runs of whitespace reduced to one space.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Up to {@code limit} phrases that have a word starting with
+     * {@code prefix}, heaviest first. {@code limit} is capped at the
+     * {@code topK} the suggester was built with.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        int depth = 0;
+        while (depth < key.length()) {
+            int child = Arrays.binarySearch(node.firsts, key.charAt(depth));
+            if (child < 0) {
+                return List.of();
+            }
+            node = node.children[child];
+            String label = node.label;
+            int common = Math.min(label.length(), key.length() - depth);
+            if (!key.regionMatches(depth, label, 0, common)) {
+                return List.of();
+            }
+            depth += common;
+        }
+        int count = Math.min(Math.min(limit, topK), node.top.length);
+        List<Suggestion> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = node.top[i];
+            suggestions.add(new Suggestion(texts[id], weights[id]));
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return texts.length;
+    }
+
+    /**
+     * Collects phrases; the same normalized phrase added twice has its weights
+     * summed and keeps the spelling it was added with most heavily.
+     */
+    public static final class Builder {
+
+        private static final int MAX_PHRASE_CHARS = 100;
+
+        private final int topK;
+        private final Map<String, Integer> idsByKey = new HashMap<>();
+        private final List<String> texts = new ArrayList<>();
+        private final List<Long> weights = new ArrayList<>();
+        private final List<Map<String, Long>> spellings = new ArrayList<>();
+
+        public Builder(int topK) {
+            if (topK < 1) {
+                throw new IllegalArgumentException("topK must be positive");
+            }
+            this.topK = topK;
+        }
+
+        public Builder add(String text, long weight) {
+            String key = normalize(text);
+            if (key.isEmpty() || key.length() > MAX_PHRASE_CHARS || weight <= 0) {
+                return this;
+            }
+            String display = text.trim().replaceAll("\\s+", " ");
+            Integer id = idsByKey.get(key);
+            if (id == null) {
+                id = texts.size();
+                idsByKey.put(key, id);
+                texts.add(display);
+                weights.add(0L);
+                spellings.add(new HashMap<>(2));
+            }
+            weights.set(id, weights.get(id) + weight);
+            Map<String, Long> forms = spellings.get(id);
+            long formWeight = forms.merge(display, weight, Long::sum);
+            if (formWeight > forms.getOrDefault(texts.get(id), 0L)) {
+                texts.set(id, display);
+            }
+            return this;
+        }
+
+        public PrefixSuggester build() {
+            String[] finalTexts = texts.toArray(new String[0]);
+            long[] finalWeights = new long[finalTexts.length];
+            for (int i = 0; i < finalWeights.length; i++) {
+                finalWeights[i] = weights.get(i);
+            }
+
+            // One key per word start of every phrase
+            List<String> keys = new ArrayList<>();
+            List<Integer> owners = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : idsByKey.entrySet()) {
+                String key = entry.getKey();
+                for (int start = 0; start < key.length(); start++) {
+                    if (start == 0 || key.charAt(start - 1) == ' ') {
+                        keys.add(key.substring(start));
+                        owners.add(entry.getValue());
+                    }
+                }
+            }
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+            String[] sortedKeys = new String[order.length];
+            int[] sortedOwners = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                sortedOwners[i] = owners.get(order[i]);
+            }
+
+            Node root = new Node("");
+            if (sortedKeys.length > 0) {
+                fill(root, sortedKeys, sortedOwners, 0, sortedKeys.length, 0, finalWeights);
+            }
+            return new PrefixSuggester(finalTexts, finalWeights, root, topK);
+        }
+
+        /**
+         * Builds the children of {@code node} from keys {@code lo..hi}, which
+         * all share their first {@code depth} characters, and computes the
+         * node's top list.
+         */
+        private void fill(Node node, String[] keys, int[] owners, int lo, int hi, int depth, long[] weights) {
+            List<int[]> lists = new ArrayList<>();
+            // Keys that end here sort first within the range
+            int start = lo;
+            while (start < hi && keys[start].length() == depth) {
+                start++;
+            }
+            lists.add(Arrays.copyOfRange(owners, lo, start));
+
+            List<Character> firsts = new ArrayList<>();
+            List<Node> children = new ArrayList<>();
+            int i = start;
+            while (i < hi) {
+                char first = keys[i].charAt(depth);
+                int j = i + 1;
+                while (j < hi && keys[j].charAt(depth) == first) {
+                    j++;
+                }
+                // Extend the edge over characters every key in i..j shares
+                int end = depth + 1;
+                String firstKey = keys[i];
+                String lastKey = keys[j - 1];
+                while (end < firstKey.length() && end < lastKey.length() && firstKey.charAt(end) == lastKey.charAt(end)) {
+                    end++;
+                }
+                Node child = new Node(firstKey.substring(depth, end));
+                fill(child, keys, owners, i, j, end, weights);
+                firsts.add(first);
+                children.add(child);
+                lists.add(child.top);
+                i = j;
+            }
+
+            node.firsts = new char[firsts.size()];
+            for (int c = 0; c < node.firsts.length; c++) {
+                node.firsts[c] = firsts.get(c);
+            }
+            node.children = children.toArray(new Node[0]);
+            node.top = mergeTop(lists, weights);
+        }
+
+        private int[] mergeTop(List<int[]> lists, long[] weights) {
+            List<Integer> candidates = new ArrayList<>();
+            for (int[] list : lists) {
+                for (int id : list) {
+                    candidates.add(id);
+                }
+            }
+            candidates.sort((a, b) -> weights[a] != weights[b] ? Long.compare(weights[b], weights[a]) : Integer.compare(a, b));
+            // A phrase reached through several of its words is listed once
+            int[] top = new int[topK];
+            int count = 0;
+            int previous = -1;
+            for (int id : candidates) {
+                if (count == topK) {
+                    break;
+                }
+                if (id != previous) {
+                    top[count++] = id;
+                    previous = id;
+                }
+            }
+            return Arrays.copyOf(top, count);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.jobportal.util;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementations behind {@link VectorKernels}. Only loaded when the
+ * {@code jdk.incubator.vector} module is resolved at runtime
+ * ({@code --add-modules jdk.incubator.vector}); referencing this class
+ * otherwise fails with {@link NoClassDefFoundError}.
+ */
+final class SimdVectorKernels {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private SimdVectorKernels() {
+    }
+
+    static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc0 = FloatVector.zero(SPECIES);
+        FloatVector acc1 = FloatVector.zero(SPECIES);
+        int lanes = SPECIES.length();
+        int i = 0;
+        // Two independent accumulators hide FMA latency
+        int unrolledBound = length - 2 * lanes;
+        for (; i <= unrolledBound; i += 2 * lanes) {
+            acc0 = FloatVector.fromArray(SPECIES, a, aOffset + i)
+                    .fma(FloatVector.fromArray(SPECIES, b, bOffset + i), acc0);
+            acc1 = FloatVector.fromArray(SPECIES, a, aOffset + i + lanes)
+                    .fma(FloatVector.fromArray(SPECIES, b, bOffset + i + lanes), acc1);
+        }
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += lanes) {
+            acc0 = FloatVector.fromArray(SPECIES, a, aOffset + i)
+                    .fma(FloatVector.fromArray(SPECIES, b, bOffset + i), acc0);
+        }
+        float sum = acc0.add(acc1).reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,158 @@
+package com.jobportal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits long documents such as resumes into chunks of at most
+ * {@code maxChars} characters for embedding.
+ *
+ * Chunks are packed from whole paragraphs, and a line that looks like a
+ * section heading ("EXPERIENCE", "Skills:") always starts a new paragraph.
+ * A paragraph too long for one chunk is split at sentence ends, and a
+ * sentence that is still too long is split at spaces. Each chunk after the
+ * first repeats up to {@code overlapChars} trailing characters of the previous
+ * one, cut at a word boundary, so text that straddles a boundary is seen whole
+ * by at least one chunk.
+ */
+public final class TextChunker {
+
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?])\\s+");
+    private static final int MAX_HEADING_CHARS = 40;
+
+    private final int maxChars;
+    private final int overlapChars;
+
+    public TextChunker(int maxChars, int overlapChars) {
+        if (maxChars < 1 || overlapChars < 0 || overlapChars >= maxChars) {
+            throw new IllegalArgumentException("Chunk size must be positive and larger than the overlap");
+        }
+        this.maxChars = maxChars;
+        this.overlapChars = overlapChars;
+    }
+
+    public List<String> chunk(String text) {
+        List<String> chunks = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return chunks;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (String piece : pieces(text)) {
+            // Room left once the overlap carried into a fresh chunk is counted
+            if (current.length() > 0 && current.length() + 1 + piece.length() > maxChars) {
+                String done = current.toString();
+                chunks.add(done);
+                current.setLength(0);
+                String overlap = tail(done, Math.min(overlapChars, maxChars - piece.length() - 1));
+                if (!overlap.isEmpty()) {
+                    current.append(overlap);
+                }
+            }
+            if (current.length() > 0) {
+                current.append('\n');
+            }
+            current.append(piece);
+        }
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * Paragraphs and headings, each already at most {@code maxChars} long.
+     */
+    private List<String> pieces(String text) {
+        List<String> pieces = new ArrayList<>();
+        for (String paragraph : PARAGRAPH_BREAK.split(text.replace("\r\n", "\n"))) {
+            StringBuilder block = new StringBuilder();
+            for (String line : paragraph.split("\n")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                if (isHeading(trimmed) && block.length() > 0) {
+                    addPiece(pieces, block.toString());
+                    block.setLength(0);
+                }
+                if (block.length() > 0) {
+                    block.append(' ');
+                }
+                block.append(trimmed);
+            }
+            if (block.length() > 0) {
+                addPiece(pieces, block.toString());
+            }
+        }
+        return pieces;
+    }
+
+    private void addPiece(List<String> pieces, String paragraph) {
+        if (paragraph.length() <= maxChars) {
+            pieces.add(paragraph);
+            return;
+        }
+        StringBuilder part = new StringBuilder();
+        for (String sentence : SENTENCE_END.split(paragraph)) {
+            for (String fragment : splitAtSpaces(sentence)) {
+                if (part.length() > 0 && part.length() + 1 + fragment.length() > maxChars) {
+                    pieces.add(part.toString());
+                    part.setLength(0);
+                }
+                if (part.length() > 0) {
+                    part.append(' ');
+                }
+                part.append(fragment);
+            }
+        }
+        if (part.length() > 0) {
+            pieces.add(part.toString());
+        }
+    }
+
+    private List<String> splitAtSpaces(String sentence) {
+        List<String> fragments = new ArrayList<>();
+        String rest = sentence;
+        while (rest.length() > maxChars) {
+            int cut = rest.lastIndexOf(' ', maxChars);
+            if (cut <= 0) {
+                cut = maxChars;
+            }
+            fragments.add(rest.substring(0, cut).trim());
+            rest = rest.substring(cut).trim();
+        }
+        if (!rest.isEmpty()) {
+            fragments.add(rest);
+        }
+        return fragments;
+    }
+
+    private static boolean isHeading(String line) {
+        if (line.length() > MAX_HEADING_CHARS) {
+            return false;
+        }
+        if (line.endsWith(":")) {
+            return true;
+        }
+        boolean hasLetter = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (Character.isLowerCase(c)) {
+                return false;
+            }
+            hasLetter |= Character.isLetter(c);
+        }
+        return hasLetter;
+    }
+
+    private static String tail(String text, int chars) {
+        if (chars <= 0 || text.length() <= chars) {
+            return chars <= 0 ? "" : text;
+        }
+        int start = text.indexOf(' ', text.length() - chars);
+        return start < 0 ? "" : text.substring(start + 1);
+    }
+}
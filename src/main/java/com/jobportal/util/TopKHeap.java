@@ -0,0 +1,87 @@
+package com.jobportal.util;
+
+/**
+ * Fixed-capacity min-heap of (score, row) pairs held in two primitive arrays,
+ * keeping the {@code capacity} highest scores offered to it. The root is the
+ * weakest kept score, so a candidate that cannot make the cut is rejected
+ * with one comparison and no allocation.
+ */
+final class TopKHeap {
+
+    private final float[] scores;
+    private final int[] rows;
+    private int size;
+
+    TopKHeap(int capacity) {
+        scores = new float[capacity];
+        rows = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void offer(float score, int row) {
+        if (size < scores.length) {
+            int i = size++;
+            // Sift up
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= score) {
+                    break;
+                }
+                scores[i] = scores[parent];
+                rows[i] = rows[parent];
+                i = parent;
+            }
+            scores[i] = score;
+            rows[i] = row;
+        } else if (size > 0 && score > scores[0]) {
+            siftDown(score, row);
+        }
+    }
+
+    void addAll(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.scores[i], other.rows[i]);
+        }
+    }
+
+    /**
+     * Empties the heap into {@code rowsOut} and {@code scoresOut}, best score
+     * first. Both arrays must hold at least {@link #size()} elements.
+     */
+    void drainDescending(int[] rowsOut, float[] scoresOut) {
+        while (size > 0) {
+            int last = size - 1;
+            rowsOut[last] = rows[0];
+            scoresOut[last] = scores[0];
+            float tailScore = scores[last];
+            int tailRow = rows[last];
+            size = last;
+            if (size > 0) {
+                siftDown(tailScore, tailRow);
+            }
+        }
+    }
+
+    private void siftDown(float score, int row) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && scores[right] < scores[child]) {
+                child = right;
+            }
+            if (score <= scores[child]) {
+                break;
+            }
+            scores[i] = scores[child];
+            rows[i] = rows[child];
+            i = child;
+        }
+        scores[i] = score;
+        rows[i] = row;
+    }
+}
@@ -0,0 +1,221 @@
+package com.jobportal.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Vocabulary of terms with an inverted index from character trigrams to
+ * terms, for finding the indexed spellings closest to a misspelled word.
+ *
+ * A term within {@code k} edits of the query shares all but at most
+ * {@code 4k} of the query's trigrams (an edit touches three, a transposed
+ * pair four), so only terms reaching that count (and
+ * within {@code k} of its length) are verified with a bounded edit distance
+ * that counts an adjacent transposition as one edit. Terms are only ever
+ * added; callers rebuild the index to drop terms that went away.
+ */
+public class TrigramIndex {
+
+    private static final char PAD = '\u0001';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> idsByTerm = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final Map<Long, int[]> postings = new HashMap<>();
+    private final Map<Long, Integer> postingSizes = new HashMap<>();
+    private long[] frequencies = new long[64];
+
+    public record Match(String term, int distance, long frequency) {
+    }
+
+    /**
+     * Adds {@code count} occurrences of {@code term}.
+     */
+    public void add(String term, long count) {
+        if (term == null || term.isEmpty() || count <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer id = idsByTerm.get(term);
+            if (id == null) {
+                id = terms.size();
+                idsByTerm.put(term, id);
+                terms.add(term);
+                if (id == frequencies.length) {
+                    frequencies = Arrays.copyOf(frequencies, id * 2);
+                }
+                for (long gram : trigrams(term)) {
+                    appendPosting(gram, id);
+                }
+            }
+            frequencies[id] += count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long frequency(String term) {
+        lock.readLock().lock();
+        try {
+            Integer id = idsByTerm.get(term);
+            return id == null ? 0 : frequencies[id];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed terms other than {@code query} within {@code maxEdits} of it,
+     * closest first and most frequent first among equally close ones.
+     * Verification stops at {@code deadlineNanos} (a {@link System#nanoTime()}
+     * value), returning what was found so far.
+     */
+    public List<Match> lookup(String query, int maxEdits, int limit, long deadlineNanos) {
+        if (query == null || query.isEmpty() || maxEdits < 0 || limit <= 0) {
+            return List.of();
+        }
+        long[] grams = distinct(trigrams(query));
+        int required = Math.max(1, grams.length - 4 * maxEdits);
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            // Concatenated postings, sorted, so each run is one term and its length the shared trigram count
+            int total = 0;
+            for (long gram : grams) {
+                total += postingSizes.getOrDefault(gram, 0);
+            }
+            int[] hits = new int[total];
+            int filled = 0;
+            for (long gram : grams) {
+                int[] ids = postings.get(gram);
+                if (ids != null) {
+                    int size = postingSizes.get(gram);
+                    System.arraycopy(ids, 0, hits, filled, size);
+                    filled += size;
+                }
+            }
+            Arrays.sort(hits);
+
+            int verified = 0;
+            for (int start = 0; start < hits.length; ) {
+                int id = hits[start];
+                int end = start + 1;
+                while (end < hits.length && hits[end] == id) {
+                    end++;
+                }
+                int shared = end - start;
+                start = end;
+
+                String term = terms.get(id);
+                if (shared < required || Math.abs(term.length() - query.length()) > maxEdits || term.equals(query)) {
+                    continue;
+                }
+                if ((verified++ & 63) == 0 && System.nanoTime() > deadlineNanos) {
+                    break;
+                }
+                int distance = distance(query, term, maxEdits);
+                if (distance <= maxEdits) {
+                    matches.add(new Match(term, distance, frequencies[id]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingInt(Match::distance)
+                .thenComparing(Comparator.comparingLong(Match::frequency).reversed())
+                .thenComparing(Match::term));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Optimal string alignment distance between {@code a} and {@code b}, or
+     * {@code maxEdits + 1} as soon as it is known to exceed {@code maxEdits}.
+     */
+    static int distance(String a, String b, int maxEdits) {
+        int n = a.length();
+        int m = b.length();
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m];
+    }
+
+    // Padded so word starts and ends carry their own trigrams: "go" -> "\1\1g", "\1go", "go\1"
+    private static long[] trigrams(String term) {
+        String padded = "" + PAD + PAD + term + PAD;
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    private static long[] distinct(long[] grams) {
+        long[] sorted = grams.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    private void appendPosting(long gram, int id) {
+        int[] ids = postings.get(gram);
+        int size = postingSizes.getOrDefault(gram, 0);
+        if (ids == null) {
+            ids = new int[4];
+        } else if (size > 0 && ids[size - 1] == id) {
+            // A trigram repeated within one term is posted once
+            return;
+        } else if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size] = id;
+        postings.put(gram, ids);
+        postingSizes.put(gram, size + 1);
+    }
+}
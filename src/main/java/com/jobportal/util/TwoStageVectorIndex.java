@@ -0,0 +1,159 @@
+package com.jobportal.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Two-stage nearest-neighbour index: a first pass over vectors reduced by a
+ * {@link LinearProjection} shortlists {@code shortlist} candidates, which are
+ * then re-ranked exactly against the full vectors.
+ *
+ * The projection is looked up by input dimension when the first vector of
+ * that dimension arrives. A snapshot records the projection version it was
+ * built with and is rejected once a different projection is current, since
+ * its reduced vectors would no longer match reduced queries.
+ *
+ * Writes are serialized so both stages always change together; searches run
+ * on the stages' own read locks.
+ */
+public class TwoStageVectorIndex implements VectorIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x32535447; // "2STG"
+
+    private final VectorIndex full;
+    private final VectorIndex reduced;
+    private final IntFunction<LinearProjection> projections;
+    private final int shortlist;
+    private final Object writeLock = new Object();
+
+    private volatile LinearProjection projection;
+
+    /**
+     * @param full        exact index over the original vectors
+     * @param reduced     index over projected vectors, scanned first
+     * @param projections current projection for a given input dimension
+     * @param shortlist   candidates passed from the first stage to the second
+     */
+    public TwoStageVectorIndex(VectorIndex full, VectorIndex reduced, IntFunction<LinearProjection> projections,
+                               int shortlist) {
+        this.full = full;
+        this.reduced = reduced;
+        this.projections = projections;
+        this.shortlist = Math.max(1, shortlist);
+    }
+
+    @Override
+    public void upsert(String id, float[] unitVector) {
+        synchronized (writeLock) {
+            LinearProjection current = projection;
+            if (current == null || current.inputDimension() != unitVector.length) {
+                if (full.size() > 0) {
+                    throw new IllegalArgumentException("Expected vector of dimension " + full.dimension()
+                            + " but got " + unitVector.length);
+                }
+                current = projections.apply(unitVector.length);
+                projection = current;
+            }
+            full.upsert(id, unitVector);
+            reduced.upsert(id, current.project(unitVector));
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        synchronized (writeLock) {
+            reduced.remove(id);
+            return full.remove(id);
+        }
+    }
+
+    @Override
+    public List<Hit> search(float[] unitQuery, int k) {
+        LinearProjection current = projection;
+        if (current == null || k <= 0 || unitQuery.length != current.inputDimension()) {
+            return List.of();
+        }
+        if (k >= shortlist) {
+            return full.search(unitQuery, k);
+        }
+        List<Hit> candidates = reduced.search(current.project(unitQuery), shortlist);
+        return full.searchAmong(unitQuery, k, candidates.stream().map(Hit::id).toList());
+    }
+
+    @Override
+    public List<Hit> searchAmong(float[] unitQuery, int k, Collection<String> ids) {
+        LinearProjection current = projection;
+        if (current == null || k <= 0 || unitQuery.length != current.inputDimension()) {
+            return List.of();
+        }
+        if (ids.size() <= shortlist || k >= shortlist) {
+            return full.searchAmong(unitQuery, k, ids);
+        }
+        List<Hit> candidates = reduced.searchAmong(current.project(unitQuery), shortlist, ids);
+        return full.searchAmong(unitQuery, k, candidates.stream().map(Hit::id).toList());
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return full.contains(id);
+    }
+
+    @Override
+    public int size() {
+        return full.size();
+    }
+
+    @Override
+    public int dimension() {
+        return full.dimension();
+    }
+
+    public long projectionVersion() {
+        LinearProjection current = projection;
+        return current != null ? current.version() : 0;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (writeLock) {
+            full.clear();
+            reduced.clear();
+            projection = null;
+        }
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        synchronized (writeLock) {
+            LinearProjection current = projection;
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(current != null ? current.inputDimension() : 0);
+            out.writeLong(current != null ? current.version() : 0);
+            full.writeSnapshot(out);
+            reduced.writeSnapshot(out);
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a two-stage index snapshot");
+        }
+        int inputDimension = in.readInt();
+        long version = in.readLong();
+        LinearProjection current = inputDimension > 0 ? projections.apply(inputDimension) : null;
+        if (current != null && current.version() != version) {
+            throw new IOException("Two-stage snapshot was built with projection version " + version
+                    + " but version " + current.version() + " is current");
+        }
+        synchronized (writeLock) {
+            full.readSnapshot(in);
+            reduced.readSnapshot(in);
+            projection = current;
+        }
+    }
+}
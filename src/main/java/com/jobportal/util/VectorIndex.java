@@ -0,0 +1,50 @@
+package com.jobportal.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Nearest-neighbour index over unit-normalized vectors, scored by dot product.
+ * Implementations must be safe for concurrent searches alongside writes.
+ */
+public interface VectorIndex {
+
+    void upsert(String id, float[] unitVector);
+
+    boolean remove(String id);
+
+    /**
+     * Returns up to {@code k} entries with the highest dot product against
+     * {@code unitQuery}, best first.
+     */
+    List<Hit> search(float[] unitQuery, int k);
+
+    /**
+     * Exact top {@code k} among {@code ids} only, best first. Ids not in the
+     * index are skipped. Meant for filtered searches, where the allowed set
+     * has already been narrowed down and only its members are scored.
+     */
+    List<Hit> searchAmong(float[] unitQuery, int k, Collection<String> ids);
+
+    boolean contains(String id);
+
+    int size();
+
+    int dimension();
+
+    void clear();
+
+    void writeSnapshot(DataOutputStream out) throws IOException;
+
+    /**
+     * Replaces the current contents with a snapshot produced by
+     * {@link #writeSnapshot(DataOutputStream)} on the same implementation.
+     */
+    void readSnapshot(DataInputStream in) throws IOException;
+
+    record Hit(String id, float score) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.jobportal.util;
+
+import java.util.List;
+
+/**
+ * Primitive similarity kernels for embedding vectors.
+ *
+ * Vectors are expected to be unit-normalized up front (see
+ * {@link #toUnitVector(List)}), so cosine similarity is a plain dot product
+ * and no norms are recomputed per comparison. Dot products use the Vector API
+ * when the JVM is started with {@code --add-modules jdk.incubator.vector} and
+ * an unrolled scalar loop otherwise. {@code -Djobportal.vector.simd=false}
+ * forces the scalar path.
+ */
+public final class VectorKernels {
+
+    private static final boolean SIMD = detectSimd();
+
+    private VectorKernels() {
+    }
+
+    public static boolean isSimdEnabled() {
+        return SIMD;
+    }
+
+    public static float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Dot product of {@code query} against the row starting at {@code offset}
+     * in a row-major matrix.
+     */
+    public static float dot(float[] query, float[] matrix, int offset) {
+        return dot(query, 0, matrix, offset, query.length);
+    }
+
+    public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        if (SIMD) {
+            return SimdVectorKernels.dot(a, aOffset, b, bOffset, length);
+        }
+        return scalarDot(a, aOffset, b, bOffset, length);
+    }
+
+    /**
+     * Scalar fallback. Four independent accumulators break the add dependency
+     * chain, which a single running sum serializes on FP latency.
+     */
+    public static float scalarDot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float s0 = 0f;
+        float s1 = 0f;
+        float s2 = 0f;
+        float s3 = 0f;
+        int i = 0;
+        for (int bound = length - 3; i < bound; i += 4) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    public static double dot(double[] a, double[] b) {
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = 0;
+        for (int bound = a.length - 3; i < bound; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < a.length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Converts an embedding into a unit-length float vector. Returns null for
+     * empty or zero vectors.
+     */
+    public static float[] toUnitVector(List<Double> vector) {
+        if (vector == null || vector.isEmpty()) {
+            return null;
+        }
+        float[] unit = new float[vector.size()];
+        double norm = 0.0;
+        for (int i = 0; i < unit.length; i++) {
+            double value = vector.get(i);
+            unit[i] = (float) value;
+            norm += value * value;
+        }
+        return scale(unit, norm);
+    }
+
+    /**
+     * Returns a unit-length copy of {@code vector}, or null for a zero vector.
+     */
+    public static float[] normalize(float[] vector) {
+        double norm = 0.0;
+        for (float value : vector) {
+            norm += (double) value * value;
+        }
+        return scale(vector.clone(), norm);
+    }
+
+    private static float[] scale(float[] vector, double squaredNorm) {
+        if (squaredNorm == 0) {
+            return null;
+        }
+        float factor = (float) (1.0 / Math.sqrt(squaredNorm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= factor;
+        }
+        return vector;
+    }
+
+    private static boolean detectSimd() {
+        if (!Boolean.parseBoolean(System.getProperty("jobportal.vector.simd", "true"))) {
+            return false;
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            float[] probe = {1f, 2f, 3f};
+            return SimdVectorKernels.dot(probe, 0, probe, 0, probe.length) == 14f;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
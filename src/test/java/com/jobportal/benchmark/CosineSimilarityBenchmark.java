@@ -0,0 +1,111 @@
+package com.jobportal.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.jobportal.util.CosineSimilarityUtil;
+import com.jobportal.util.VectorKernels;
+
+/**
+ * Per-comparison cost of the similarity kernels at the nomic-embed-text
+ * dimension: the original boxed {@code Math.pow} implementation, the current
+ * {@code List<Double>} path, and dot products over pre-normalized vectors
+ * with the scalar and Vector API kernels.
+ *
+ * Not a unit test. Run after {@code mvn test-compile} with:
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp "target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" com.jobportal.benchmark.CosineSimilarityBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CosineSimilarityBenchmark {
+
+	@Param("768")
+	private int dimension;
+
+	private List<Double> boxedA;
+	private List<Double> boxedB;
+	private float[] unitA;
+	private float[] unitB;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		boxedA = new ArrayList<>(dimension);
+		boxedB = new ArrayList<>(dimension);
+		for (int i = 0; i < dimension; i++) {
+			boxedA.add(random.nextGaussian());
+			boxedB.add(random.nextGaussian());
+		}
+		unitA = VectorKernels.toUnitVector(boxedA);
+		unitB = VectorKernels.toUnitVector(boxedB);
+	}
+
+	@Benchmark
+	public double legacyList() {
+		return legacyCalculate(boxedA, boxedB);
+	}
+
+	@Benchmark
+	public double currentList() {
+		return CosineSimilarityUtil.calculate(boxedA, boxedB);
+	}
+
+	@Benchmark
+	public float unitScalar() {
+		return VectorKernels.scalarDot(unitA, 0, unitB, 0, dimension);
+	}
+
+	@Benchmark
+	public float unitSimd() {
+		return VectorKernels.dot(unitA, unitB);
+	}
+
+	// The implementation CosineSimilarityUtil shipped with before the float kernels
+	private static double legacyCalculate(List<Double> vectorA, List<Double> vectorB) {
+		if (vectorA == null || vectorB == null || vectorA.size() != vectorB.size() || vectorA.isEmpty()) {
+			return 0.0;
+		}
+		double dotProduct = 0.0;
+		double normA = 0.0;
+		double normB = 0.0;
+		for (int i = 0; i < vectorA.size(); i++) {
+			dotProduct += vectorA.get(i) * vectorB.get(i);
+			normA += Math.pow(vectorA.get(i), 2);
+			normB += Math.pow(vectorB.get(i), 2);
+		}
+		if (normA == 0 || normB == 0) {
+			return 0.0;
+		}
+		return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		System.out.println("Vector API enabled: " + VectorKernels.isSimdEnabled());
+		new Runner(new OptionsBuilder()
+				.include(CosineSimilarityBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,105 @@
+package com.jobportal.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.jobportal.util.FlatVectorIndex;
+import com.jobportal.util.LinearProjection;
+import com.jobportal.util.TwoStageVectorIndex;
+import com.jobportal.util.VectorIndex;
+import com.jobportal.util.VectorKernels;
+
+/**
+ * Recall@10 and latency of {@link TwoStageVectorIndex} against the exact
+ * {@link FlatVectorIndex} ranking, for PCA and random projections at several
+ * reduced dimensions and shortlist sizes, on the same synthetic clustered
+ * vectors as {@link VectorIndexRecallBenchmark}.
+ *
+ * Not a unit test. Run after {@code mvn test-compile} with:
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes com.jobportal.benchmark.TwoStageRecallBenchmark [jobs] [queries]
+ * </pre>
+ */
+public class TwoStageRecallBenchmark {
+
+	private static final int K = 10;
+	private static final int PCA_SAMPLE = 5000;
+	private static final int[] DIMENSIONS = {64, 128};
+	private static final int[] SHORTLISTS = {100, 300, 1000};
+
+	public static void main(String[] args) {
+		int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		Random random = new Random(7);
+
+		List<float[]> corpus = toUnit(VectorIndexRecallBenchmark.generate(jobs, random));
+		List<float[]> queryVectors = toUnit(VectorIndexRecallBenchmark.generate(queries, random));
+
+		FlatVectorIndex exact = new FlatVectorIndex();
+		for (int i = 0; i < corpus.size(); i++) {
+			exact.upsert("job-" + i, corpus.get(i));
+		}
+		List<Set<String>> truth = new ArrayList<>();
+		long exactNanos = 0;
+		for (float[] query : queryVectors) {
+			long start = System.nanoTime();
+			List<VectorIndex.Hit> hits = exact.search(query, K);
+			exactNanos += System.nanoTime() - start;
+			Set<String> ids = new HashSet<>();
+			hits.forEach(hit -> ids.add(hit.id()));
+			truth.add(ids);
+		}
+		System.out.printf("exact flat scan: %.3f ms/query%n", exactNanos / 1e6 / queries);
+
+		int dimension = corpus.get(0).length;
+		List<float[]> sample = corpus.subList(0, Math.min(PCA_SAMPLE, corpus.size()));
+		for (int reduced : DIMENSIONS) {
+			long fitStart = System.nanoTime();
+			LinearProjection pca = LinearProjection.fitPca(1, sample, reduced, 1);
+			System.out.printf("PCA %d -> %d fitted on %d vectors in %.1f s%n", dimension, reduced, sample.size(),
+					(System.nanoTime() - fitStart) / 1e9);
+			LinearProjection randomProjection = LinearProjection.random(2, dimension, reduced, 2);
+
+			for (LinearProjection projection : List.of(pca, randomProjection)) {
+				String method = projection == pca ? "pca" : "random";
+				for (int shortlist : SHORTLISTS) {
+					TwoStageVectorIndex index = new TwoStageVectorIndex(new FlatVectorIndex(), new FlatVectorIndex(),
+							inputDimension -> projection, shortlist);
+					for (int i = 0; i < corpus.size(); i++) {
+						index.upsert("job-" + i, corpus.get(i));
+					}
+					report(method, reduced, shortlist, index, queryVectors, truth);
+				}
+			}
+		}
+	}
+
+	private static void report(String method, int reduced, int shortlist, VectorIndex index, List<float[]> queries,
+			List<Set<String>> truth) {
+		long nanos = 0;
+		int found = 0;
+		for (int q = 0; q < queries.size(); q++) {
+			long start = System.nanoTime();
+			List<VectorIndex.Hit> hits = index.search(queries.get(q), K);
+			nanos += System.nanoTime() - start;
+			for (VectorIndex.Hit hit : hits) {
+				if (truth.get(q).contains(hit.id())) {
+					found++;
+				}
+			}
+		}
+		System.out.printf("%-6s dims=%-4d shortlist=%-5d recall@%d=%.4f  %.3f ms/query%n", method, reduced, shortlist, K,
+				(double) found / (queries.size() * K), nanos / 1e6 / queries.size());
+	}
+
+	private static List<float[]> toUnit(List<List<Double>> vectors) {
+		List<float[]> unit = new ArrayList<>(vectors.size());
+		for (List<Double> vector : vectors) {
+			unit.add(VectorKernels.toUnitVector(vector));
+		}
+		return unit;
+	}
+}
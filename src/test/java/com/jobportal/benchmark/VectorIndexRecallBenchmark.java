@@ -0,0 +1,118 @@
+package com.jobportal.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.jobportal.util.CosineSimilarityUtil;
+import com.jobportal.util.HnswVectorIndex;
+import com.jobportal.util.VectorIndex;
+import com.jobportal.util.VectorKernels;
+
+/**
+ * Recall-vs-latency comparison of {@link HnswVectorIndex} against the exact
+ * scan in {@link CosineSimilarityUtil}, on synthetic clustered vectors shaped
+ * like nomic-embed-text output.
+ *
+ * Not a unit test. Run after {@code mvn test-compile} with:
+ * <pre>
+ * java -cp target/classes:target/test-classes com.jobportal.benchmark.VectorIndexRecallBenchmark [jobs] [queries]
+ * </pre>
+ */
+public class VectorIndexRecallBenchmark {
+
+	private static final int DIMENSION = 768;
+	private static final int CLUSTERS = 200;
+	private static final int K = 10;
+	private static final int[] EF_VALUES = {16, 32, 64, 128, 256};
+
+	public static void main(String[] args) {
+		int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		Random random = new Random(7);
+
+		List<List<Double>> corpus = generate(jobs, random);
+		List<List<Double>> queryVectors = generate(queries, random);
+
+		long buildStart = System.nanoTime();
+		HnswVectorIndex hnsw = new HnswVectorIndex(16, 200, 64);
+		for (int i = 0; i < corpus.size(); i++) {
+			hnsw.upsert("job-" + i, VectorKernels.toUnitVector(corpus.get(i)));
+		}
+		System.out.printf("HNSW build: %d vectors in %.1f s%n", jobs, (System.nanoTime() - buildStart) / 1e9);
+
+		List<Set<String>> truth = new ArrayList<>();
+		long exactNanos = 0;
+		for (List<Double> query : queryVectors) {
+			long start = System.nanoTime();
+			truth.add(exactTopK(query, corpus));
+			exactNanos += System.nanoTime() - start;
+		}
+		System.out.printf("exact scan (CosineSimilarityUtil): %.3f ms/query%n", exactNanos / 1e6 / queries);
+
+		for (int ef : EF_VALUES) {
+			long nanos = 0;
+			int found = 0;
+			for (int q = 0; q < queries; q++) {
+				float[] unitQuery = VectorKernels.toUnitVector(queryVectors.get(q));
+				long start = System.nanoTime();
+				List<VectorIndex.Hit> hits = hnsw.search(unitQuery, K, ef);
+				nanos += System.nanoTime() - start;
+				for (VectorIndex.Hit hit : hits) {
+					if (truth.get(q).contains(hit.id())) {
+						found++;
+					}
+				}
+			}
+			System.out.printf("hnsw ef=%-4d recall@%d=%.4f  %.3f ms/query%n", ef, K, (double) found / (queries * K), nanos / 1e6 / queries);
+		}
+	}
+
+	private static Set<String> exactTopK(List<Double> query, List<List<Double>> corpus) {
+		double[] bestScores = new double[K];
+		int[] best = new int[K];
+		java.util.Arrays.fill(bestScores, Double.NEGATIVE_INFINITY);
+		for (int i = 0; i < corpus.size(); i++) {
+			double score = CosineSimilarityUtil.calculate(query, corpus.get(i));
+			if (score <= bestScores[K - 1]) {
+				continue;
+			}
+			int pos = K - 1;
+			while (pos > 0 && bestScores[pos - 1] < score) {
+				bestScores[pos] = bestScores[pos - 1];
+				best[pos] = best[pos - 1];
+				pos--;
+			}
+			bestScores[pos] = score;
+			best[pos] = i;
+		}
+		Set<String> ids = new HashSet<>();
+		for (int i : best) {
+			ids.add("job-" + i);
+		}
+		return ids;
+	}
+
+	static List<List<Double>> generate(int count, Random random) {
+		Random centerRandom = new Random(1);
+		double[][] centers = new double[CLUSTERS][DIMENSION];
+		for (double[] center : centers) {
+			for (int d = 0; d < DIMENSION; d++) {
+				center[d] = centerRandom.nextGaussian();
+			}
+		}
+
+		List<List<Double>> vectors = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			double[] center = centers[random.nextInt(CLUSTERS)];
+			List<Double> vector = new ArrayList<>(DIMENSION);
+			for (int d = 0; d < DIMENSION; d++) {
+				vector.add(center[d] + random.nextGaussian() * 0.9);
+			}
+			vectors.add(vector);
+		}
+		return vectors;
+	}
+}
@@ -0,0 +1,172 @@
+package com.jobportal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class Bm25IndexTest {
+
+	private static Bm25Index newIndex() {
+		return new Bm25Index(new String[]{"title", "description"}, new float[]{3f, 1f}, 1.2f, 0.75f);
+	}
+
+	private static List<String> ids(Bm25Index.Result result) {
+		List<String> ids = new ArrayList<>();
+		for (Bm25Index.Hit hit : result.hits()) {
+			ids.add(hit.id());
+		}
+		return ids;
+	}
+
+	@Test
+	void tokenizeKeepsSymbolsInsideTechnologyNames() {
+		assertEquals(List.of("c++", "node.js", "developer", "c#"), Bm25Index.tokenize("C++ and Node.js developer, C#."));
+	}
+
+	@Test
+	void searchMatchesTechnologyNamesWithSymbols() {
+		Bm25Index index = newIndex();
+		index.upsert("cpp", new String[]{"C++ Engineer", "Low latency systems"});
+		index.upsert("c", new String[]{"C Engineer", "Embedded firmware"});
+		index.upsert("node", new String[]{"Backend Developer", "APIs in Node.js"});
+
+		assertEquals(List.of("cpp"), ids(index.search("c++", 0, 10)));
+		assertEquals(List.of("node"), ids(index.search("node.js", 0, 10)));
+	}
+
+	@Test
+	void titleMatchesOutrankDescriptionMatches() {
+		Bm25Index index = newIndex();
+		index.upsert("description", new String[]{"Developer", "Services written in Java"});
+		index.upsert("title", new String[]{"Java Developer", "Services written daily"});
+
+		Bm25Index.Result result = index.search("java", 0, 10);
+		assertEquals(List.of("title", "description"), ids(result));
+		assertEquals(2, result.totalMatches());
+	}
+
+	@Test
+	void pagingReturnsWindowOfFullRanking() {
+		Bm25Index index = newIndex();
+		for (int i = 0; i < 5; i++) {
+			index.upsert("job-" + i, new String[]{"Engineer", "kotlin ".repeat(i + 1)});
+		}
+
+		List<String> ranking = ids(index.search("kotlin", 0, 5));
+		Bm25Index.Result page = index.search("kotlin", 2, 2);
+		assertEquals(ranking.subList(2, 4), ids(page));
+		assertEquals(5, page.totalMatches());
+	}
+
+	@Test
+	void upsertReplacesPreviousText() {
+		Bm25Index index = newIndex();
+		index.upsert("job", new String[]{"Java Developer", "Spring"});
+		index.upsert("job", new String[]{"Python Developer", "Django"});
+
+		assertEquals(0, index.search("java", 0, 10).totalMatches());
+		assertEquals(List.of("job"), ids(index.search("python", 0, 10)));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void removedDocumentsAreNotFound() {
+		Bm25Index index = newIndex();
+		index.upsert("kept", new String[]{"Java Developer", ""});
+		index.upsert("removed", new String[]{"Java Engineer", ""});
+
+		assertTrue(index.remove("removed"));
+		assertFalse(index.remove("removed"));
+		Bm25Index.Result result = index.search("java", 0, 10);
+		assertEquals(List.of("kept"), ids(result));
+		assertEquals(1, result.totalMatches());
+		assertEquals(List.of("kept"), index.ids());
+	}
+
+	@Test
+	void compactionKeepsRemainingDocumentsSearchable() {
+		Bm25Index index = newIndex();
+		for (int i = 0; i < 3000; i++) {
+			index.upsert("job-" + i, new String[]{"Engineer " + (i % 2 == 0 ? "kotlin" : "scala"), "Role number " + i});
+		}
+		// Enough removals to compact the index more than once
+		for (int i = 0; i < 2500; i++) {
+			index.remove("job-" + i);
+		}
+
+		Bm25Index.Result result = index.search("kotlin", 0, 1000);
+		assertEquals(250, result.totalMatches());
+		for (String id : ids(result)) {
+			int number = Integer.parseInt(id.substring("job-".length()));
+			assertTrue(number >= 2500 && number % 2 == 0, id);
+		}
+		assertEquals(List.of("job-2999"), ids(index.search("\"role number 2999\"", 0, 10)));
+
+		index.upsert("job-new", new String[]{"Kotlin Engineer", "Role number new"});
+		assertEquals(251, index.search("kotlin", 0, 1000).totalMatches());
+		assertEquals(501, index.size());
+	}
+
+	@Test
+	void phraseRequiresTermsInOrderWithinOneField() {
+		Bm25Index index = newIndex();
+		index.upsert("ordered", new String[]{"Senior Java Developer", ""});
+		index.upsert("reversed", new String[]{"Developer Java Senior", ""});
+		index.upsert("split", new String[]{"Java", "Developer"});
+
+		assertEquals(List.of("ordered"), ids(index.search("\"java developer\"", 0, 10)));
+		assertEquals(3, index.search("java developer", 0, 10).totalMatches());
+		assertEquals(0, index.search("\"java golang\"", 0, 10).totalMatches());
+	}
+
+	@Test
+	void snapshotRoundTripPreservesRanking() throws IOException {
+		Bm25Index index = newIndex();
+		index.upsert("a", new String[]{"Senior Java Developer", "Spring and Kafka"});
+		index.upsert("b", new String[]{"Java Engineer", "Microservices on Kubernetes"});
+		index.upsert("c", new String[]{"Frontend Developer", "React and Node.js"});
+		index.upsert("d", new String[]{"Data Engineer", "Spark"});
+		index.remove("d");
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			index.writeSnapshot(out);
+		}
+		Bm25Index restored = newIndex();
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			restored.readSnapshot(in);
+		}
+
+		assertEquals(index.size(), restored.size());
+		for (String query : List.of("java", "developer", "node.js", "\"java developer\"", "spark")) {
+			assertEquals(index.search(query, 0, 10), restored.search(query, 0, 10), query);
+		}
+		restored.upsert("e", new String[]{"Java Architect", ""});
+		assertEquals(3, restored.search("java", 0, 10).totalMatches());
+	}
+
+	@Test
+	void snapshotForOtherFieldsIsRejected() throws IOException {
+		Bm25Index index = newIndex();
+		index.upsert("a", new String[]{"Java Developer", ""});
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			index.writeSnapshot(out);
+		}
+
+		Bm25Index other = new Bm25Index(new String[]{"title", "skills", "description"}, new float[]{1f, 1f, 1f}, 1.2f, 0.75f);
+		assertThrows(IOException.class,
+				() -> other.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+	}
+}
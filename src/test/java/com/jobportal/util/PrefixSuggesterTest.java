@@ -0,0 +1,97 @@
+package com.jobportal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixSuggesterTest {
+
+	private static List<String> texts(List<PrefixSuggester.Suggestion> suggestions) {
+		List<String> texts = new ArrayList<>();
+		for (PrefixSuggester.Suggestion suggestion : suggestions) {
+			texts.add(suggestion.text());
+		}
+		return texts;
+	}
+
+	@Test
+	void completesEveryWordStartHeaviestFirst() {
+		PrefixSuggester suggester = new PrefixSuggester.Builder(10)
+				.add("Senior Java Developer", 5)
+				.add("Java", 3)
+				.add("JavaScript Engineer", 1)
+				.add("Python Developer", 4)
+				.build();
+
+		assertEquals(List.of("Senior Java Developer", "Java", "JavaScript Engineer"), texts(suggester.suggest("java", 10)));
+		assertEquals(List.of("Senior Java Developer", "Python Developer"), texts(suggester.suggest("dev", 10)));
+	}
+
+	@Test
+	void prefixIsNormalizedLikePhrases() {
+		PrefixSuggester suggester = new PrefixSuggester.Builder(10)
+				.add("Senior  Java Developer", 1)
+				.build();
+
+		assertEquals(List.of("Senior Java Developer"), texts(suggester.suggest("  SENIOR   ja", 10)));
+	}
+
+	@Test
+	void walksSplitEdgesOfTheTrie() {
+		PrefixSuggester suggester = new PrefixSuggester.Builder(10)
+				.add("engineer", 3)
+				.add("engine", 2)
+				.add("english", 1)
+				.build();
+
+		assertEquals(List.of("engineer", "engine", "english"), texts(suggester.suggest("eng", 10)));
+		assertEquals(List.of("engineer", "engine"), texts(suggester.suggest("engi", 10)));
+		assertEquals(List.of("english"), texts(suggester.suggest("engl", 10)));
+		assertTrue(suggester.suggest("engineers", 10).isEmpty());
+		assertTrue(suggester.suggest("enx", 10).isEmpty());
+		assertTrue(suggester.suggest("", 10).isEmpty());
+	}
+
+	@Test
+	void samePhraseIsMergedUnderItsHeaviestSpelling() {
+		PrefixSuggester suggester = new PrefixSuggester.Builder(10)
+				.add("Node.js", 1)
+				.add("node.js", 3)
+				.build();
+
+		assertEquals(List.of(new PrefixSuggester.Suggestion("node.js", 4)), suggester.suggest("node", 10));
+		assertEquals(1, suggester.size());
+	}
+
+	@Test
+	void phraseReachedThroughSeveralWordsIsListedOnce() {
+		PrefixSuggester suggester = new PrefixSuggester.Builder(10)
+				.add("Java Developer Java", 2)
+				.add("Java", 1)
+				.build();
+
+		assertEquals(List.of("Java Developer Java", "Java"), texts(suggester.suggest("java", 10)));
+	}
+
+	@Test
+	void resultsAreCappedAtTopK() {
+		PrefixSuggester.Builder builder = new PrefixSuggester.Builder(2);
+		for (int i = 1; i <= 5; i++) {
+			builder.add("developer " + i, i);
+		}
+		PrefixSuggester suggester = builder.build();
+
+		assertEquals(List.of("developer 5", "developer 4"), texts(suggester.suggest("dev", 10)));
+		assertEquals(List.of("developer 5"), texts(suggester.suggest("dev", 1)));
+	}
+
+	@Test
+	void builderRejectsNonPositiveTopK() {
+		assertThrows(IllegalArgumentException.class, () -> new PrefixSuggester.Builder(0));
+	}
+}
@@ -0,0 +1,91 @@
+package com.jobportal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+	private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+	private static TrigramIndex index(String... terms) {
+		TrigramIndex index = new TrigramIndex();
+		for (String term : terms) {
+			index.add(term, 1);
+		}
+		return index;
+	}
+
+	private static List<String> terms(List<TrigramIndex.Match> matches) {
+		List<String> terms = new ArrayList<>();
+		for (TrigramIndex.Match match : matches) {
+			terms.add(match.term());
+		}
+		return terms;
+	}
+
+	@Test
+	void findsTermsWithinOneEdit() {
+		TrigramIndex index = index("javascript", "java", "typescript", "kubernetes");
+
+		assertEquals(List.of(new TrigramIndex.Match("javascript", 1, 1)), index.lookup("javascrpt", 1, 5, NO_DEADLINE));
+		assertEquals(List.of("kubernetes"), terms(index.lookup("kubernets", 1, 5, NO_DEADLINE)));
+	}
+
+	@Test
+	void adjacentTranspositionIsOneEdit() {
+		assertEquals(1, TrigramIndex.distance("pyhton", "python", 2));
+		assertEquals(List.of("python"), terms(index("python", "pytorch").lookup("pyhton", 1, 5, NO_DEADLINE)));
+	}
+
+	@Test
+	void distanceStopsPastTheBound() {
+		assertEquals(2, TrigramIndex.distance("kubernts", "kubernetes", 1));
+		assertEquals(2, TrigramIndex.distance("kubernts", "kubernetes", 3));
+		assertTrue(index("kubernetes").lookup("kubernts", 1, 5, NO_DEADLINE).isEmpty());
+		assertEquals(List.of("kubernetes"), terms(index("kubernetes").lookup("kubernts", 2, 5, NO_DEADLINE)));
+	}
+
+	@Test
+	void closerTermsComeFirstThenMoreFrequentOnes() {
+		TrigramIndex index = new TrigramIndex();
+		index.add("docker", 1);
+		index.add("dockers", 10);
+		index.add("rust", 1);
+		index.add("rest", 9);
+
+		assertEquals(List.of("docker", "dockers"), terms(index.lookup("dokcer", 2, 5, NO_DEADLINE)));
+		assertEquals(List.of("rest", "rust"), terms(index.lookup("rast", 1, 5, NO_DEADLINE)));
+		assertEquals(List.of("rest"), terms(index.lookup("rast", 1, 1, NO_DEADLINE)));
+	}
+
+	@Test
+	void queryItselfIsNotAMatch() {
+		assertEquals(List.of("javas"), terms(index("java", "javas").lookup("java", 1, 5, NO_DEADLINE)));
+	}
+
+	@Test
+	void frequenciesAccumulateAndEmptyTermsAreIgnored() {
+		TrigramIndex index = new TrigramIndex();
+		index.add("java", 2);
+		index.add("java", 3);
+		index.add("", 1);
+		index.add(null, 1);
+		index.add("scala", 0);
+
+		assertEquals(5, index.frequency("java"));
+		assertEquals(0, index.frequency("scala"));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void passedDeadlineStopsVerification() {
+		TrigramIndex index = index("javascript");
+
+		assertTrue(index.lookup("javascrpt", 1, 5, System.nanoTime() - 1).isEmpty());
+	}
+}